@@ -0,0 +1,74 @@
+package io.github.viacheslavbondarchuk.benchmarks;
+
+import io.github.viacheslavbondarchuk.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 11:12 AM
+ * date: 10/16/2026
+ * <p>
+ * applyAsync measures submission with at most {@value #IN_FLIGHT} stages in flight, so the pool queue stays bounded,
+ * applyAsyncAndWaitOther measures the full round trip up to unwrap. Results are consumed on the benchmark thread
+ **/
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApplyBenchmark {
+    private static final int IN_FLIGHT = 1024;
+
+    private final Semaphore inFlight = new Semaphore(IN_FLIGHT);
+    private final AtomicReference<Integer> length = new AtomicReference<>();
+
+    private String value = "HELLO";
+
+    @TearDown(Level.Iteration)
+    public void drain() throws InterruptedException {
+        inFlight.acquire(IN_FLIGHT);
+        inFlight.release(IN_FLIGHT);
+    }
+
+    @Benchmark
+    public String apply(Blackhole blackhole) {
+        return Monad.wrap(value)
+                .apply(blackhole::consume)
+                .unwrap();
+    }
+
+    @Benchmark
+    public String applyAsync() throws InterruptedException {
+        inFlight.acquire();
+        return Monad.wrapAsync(value)
+                .applyAsync(current -> inFlight.release())
+                .unwrap();
+    }
+
+    @Benchmark
+    public String applyAsyncAndWaitOther(Blackhole blackhole) {
+        String result = Monad.wrapAsync(value)
+                .applyAsyncWaitOtherAndStore(String::length, length)
+                .unwrap();
+        blackhole.consume(length.get());
+        return result;
+    }
+
+}
@@ -0,0 +1,31 @@
+package io.github.viacheslavbondarchuk.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 11:05 AM
+ * date: 10/16/2026
+ * <p>
+ * Runs benchmarks with the gc profiler attached, so every report carries allocation rate (gc.alloc.rate.norm).
+ * Accepts usual JMH command line options: java -jar target/benchmarks.jar WaitOther -p width=16
+ **/
+
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,68 @@
+package io.github.viacheslavbondarchuk.benchmarks;
+
+import io.github.viacheslavbondarchuk.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 2:55 PM
+ * date: 10/16/2026
+ * <p>
+ * Monad per element with a wait-other stage each vs one bulk monad over the batch
+ **/
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BulkBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<Integer> values;
+
+    @Setup
+    public void setup() {
+        values = IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object[] monadPerElement() {
+        Object[] result = new Object[size];
+        for (int index = 0; index < size; index++) {
+            AtomicReference<Integer> reference = new AtomicReference<>();
+            Monad.wrapAsync(values.get(index))
+                    .applyAsyncWaitOtherAndStore(value -> value * 31, reference)
+                    .unwrap();
+            result[index] = reference.get();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Integer> wrapAll() {
+        return Monad.wrapAll(values)
+                .mutable(value -> value * 31)
+                .unwrap();
+    }
+
+}
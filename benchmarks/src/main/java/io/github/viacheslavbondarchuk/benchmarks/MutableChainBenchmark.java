@@ -0,0 +1,76 @@
+package io.github.viacheslavbondarchuk.benchmarks;
+
+import io.github.viacheslavbondarchuk.HistoryPolicy;
+import io.github.viacheslavbondarchuk.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 11:07 AM
+ * date: 10/16/2026
+ **/
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MutableChainBenchmark {
+
+    @Param({"1", "8", "64"})
+    private int depth;
+
+    private Integer value = 42;
+
+    @Benchmark
+    public Integer wrapAndMutable() {
+        Monad<Integer, ?> monad = Monad.wrap(value);
+        for (int i = 0; i < depth; i++) {
+            monad = monad.mutable(v -> v + 1);
+        }
+        return monad.unwrap();
+    }
+
+    @Benchmark
+    public Integer emptyWithoutHistory() {
+        Monad<Integer, ?> monad = Monad.<Integer, Integer>empty().history(HistoryPolicy.none());
+        for (int i = 0; i < depth; i++) {
+            monad = monad.mutable(v -> v + 1);
+        }
+        return monad.orElse(value);
+    }
+
+    /**
+     * Allocation per step stays flat once the chain is longer than the kept history
+     */
+    @Benchmark
+    public Integer wrapAndMutableWithLastHistory() {
+        Monad<Integer, ?> monad = Monad.wrap(value).history(HistoryPolicy.last(8));
+        for (int i = 0; i < depth; i++) {
+            monad = monad.mutable(v -> v + 1);
+        }
+        return monad.unwrap();
+    }
+
+    @Benchmark
+    public Integer wrapAsyncAndMutable() {
+        Monad<Integer, ?> monad = Monad.wrapAsync(value);
+        for (int i = 0; i < depth; i++) {
+            monad = monad.mutable(v -> v + 1);
+        }
+        return monad.unwrap();
+    }
+
+}
@@ -0,0 +1,58 @@
+package io.github.viacheslavbondarchuk.benchmarks;
+
+import io.github.viacheslavbondarchuk.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 11:20 AM
+ * date: 10/16/2026
+ **/
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class RollbackBenchmark {
+
+    @Param({"1", "8", "64"})
+    private int depth;
+
+    private Integer value = 42;
+
+    @Benchmark
+    public Object mutableThenRollback() {
+        Monad monad = Monad.wrap(value);
+        for (int i = 0; i < depth; i++) {
+            monad = monad.mutable(v -> (Integer) v + 1);
+        }
+        for (int i = 0; i < depth; i++) {
+            monad = monad.rollback();
+        }
+        return monad.unwrap();
+    }
+
+    @Benchmark
+    public Object rollbackAndMutable() {
+        Monad monad = Monad.wrap(value).mutable(v -> v + 1);
+        for (int i = 0; i < depth; i++) {
+            monad = monad.rollbackAndMutable(v -> (Integer) v + 1);
+        }
+        return monad.unwrap();
+    }
+
+}
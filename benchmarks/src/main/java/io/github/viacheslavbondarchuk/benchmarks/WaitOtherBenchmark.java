@@ -0,0 +1,58 @@
+package io.github.viacheslavbondarchuk.benchmarks;
+
+import io.github.viacheslavbondarchuk.Monad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 11:16 AM
+ * date: 10/16/2026
+ **/
+
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaitOtherBenchmark {
+
+    @Param({"1", "16", "256"})
+    private int width;
+
+    private String value = "HELLO";
+
+    /**
+     * Stages run on pool threads, where a Blackhole must not be used, the value is spent as CPU tokens instead
+     */
+    @Benchmark
+    public String fanOutAndUnwrap() {
+        Monad<String, ?> monad = Monad.wrapAsync(value);
+        for (int i = 0; i < width; i++) {
+            monad.applyAsyncAndWaitOther(current -> Blackhole.consumeCPU(current.length()));
+        }
+        return monad.unwrap();
+    }
+
+    @Benchmark
+    public String fanOutWithTokens() {
+        Monad<String, ?> monad = Monad.wrapAsync(value);
+        for (int i = 0; i < width; i++) {
+            monad.applyAsyncAndWaitOther(() -> Blackhole.consumeCPU(1000));
+        }
+        return monad.unwrap();
+    }
+
+}
@@ -0,0 +1,224 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 12:30 AM
+ * date: 10/17/2026
+ * <p>
+ * Groups identical failures by exception class and failed stage, no stack is walked for a failure,
+ * only the sample of a group logs its stack trace.
+ * Summaries are logged once per interval, with the stack trace of a sample when a group shows up
+ * and a count only while it keeps failing. Group is forgotten after an idle interval.
+ * <p>
+ * The scheduler thread only ticks, summaries are logged on a separate daemon thread, so a slow appender
+ * doesn't delay deadlines and hedges. The tick holds the handler weakly and stops once the handler is
+ * unreachable, failures not logged by then are lost, {@link #close()} logs them and stops the tick right away
+ **/
+
+@Slf4j
+public final class AggregatingErrorHandler implements MonadErrorHandler, AutoCloseable {
+    private static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(1);
+    private static final int DEFAULT_MAX_GROUPS = 256;
+
+    private final int maxGroups;
+    private final ConcurrentMap<String, Group> groups = new ConcurrentHashMap<>();
+    private final LongAdder overflow = new LongAdder();
+    private final LongAdder logged = new LongAdder();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final ScheduledFuture<?> ticker;
+
+    public AggregatingErrorHandler() {
+        this(DEFAULT_INTERVAL, DEFAULT_MAX_GROUPS);
+    }
+
+    /**
+     * @param maxGroups failures of new kinds above it are only counted
+     */
+    public AggregatingErrorHandler(Duration interval, int maxGroups) {
+        if (maxGroups <= 0)
+            throw new IllegalArgumentException("maxGroups must be positive");
+        this.maxGroups = maxGroups;
+        this.ticker = Tick.start(this, interval);
+    }
+
+    @Override
+    public void onError(Throwable ex) {
+        onError(null, ex);
+    }
+
+    @Override
+    public void onError(String stage, Throwable ex) {
+        String key = Objects.isNull(stage) ? ex.getClass().getName() : ex.getClass().getName() + " in " + stage;
+        while (true) {
+            Group group = groups.get(key);
+            if (Objects.isNull(group)) {
+                if (groups.size() >= maxGroups) {
+                    overflow.increment();
+                    return;
+                }
+                group = groups.computeIfAbsent(key, ignored -> new Group(key, ex));
+            }
+            if (group.increment())
+                return;
+            // forgotten by flush meanwhile, the failure goes to a new group
+            groups.remove(key, group);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and logs what is left
+     */
+    @Override
+    public void close() {
+        ticker.cancel(false);
+        flush();
+    }
+
+    /**
+     * Hands the flush over to the flusher thread, unless the previous one is still running
+     */
+    private void tick() {
+        if (!flushing.compareAndSet(false, true))
+            return;
+        Flusher.EXECUTOR.execute(() -> {
+            try {
+                flush();
+            } finally {
+                flushing.set(false);
+            }
+        });
+    }
+
+    /**
+     * @return number of groups logged
+     */
+    int flush() {
+        int logged = 0;
+        for (Group group : groups.values()) {
+            long count = group.drain();
+            if (count == 0 && !group.forget())
+                continue;
+            if (count <= 0) {
+                groups.remove(group.key, group);
+                continue;
+            }
+            this.logged.add(count);
+            if (group.reported) {
+                log.error("{} more failures: {}", count, group.key);
+            } else {
+                group.reported = true;
+                log.error("{} failures: {}, sample: {}", count, group.key, group.sample.getMessage(), group.sample);
+            }
+            logged++;
+        }
+        long dropped = overflow.sumThenReset();
+        if (dropped > 0)
+            log.error("{} failures not grouped, more than {} kinds of failures", dropped, maxGroups);
+        return logged;
+    }
+
+    /**
+     * Grouped failures logged so far
+     */
+    long logged() {
+        return logged.sum();
+    }
+
+    /**
+     * Periodic task on the scheduler thread, it doesn't keep the handler reachable
+     */
+    private static final class Tick implements Runnable {
+        private final WeakReference<AggregatingErrorHandler> handler;
+        private volatile ScheduledFuture<?> future;
+
+        private Tick(AggregatingErrorHandler handler) {
+            this.handler = new WeakReference<>(handler);
+        }
+
+        private static ScheduledFuture<?> start(AggregatingErrorHandler handler, Duration interval) {
+            Tick tick = new Tick(handler);
+            tick.future = Scheduler.scheduleAtFixedRate(tick, interval);
+            return tick.future;
+        }
+
+        @Override
+        public void run() {
+            AggregatingErrorHandler current = handler.get();
+            if (Objects.nonNull(current)) {
+                current.tick();
+            } else if (Objects.nonNull(future)) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    private static final class Flusher {
+        private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "monad-error-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Count of an idle group is swapped for {@link #FORGOTTEN}, so no failure is counted by a group already removed
+     */
+    private static final class Group {
+        private static final long FORGOTTEN = -1L;
+
+        private final String key;
+        private final Throwable sample;
+        private final AtomicLong count = new AtomicLong();
+        private volatile boolean reported;
+
+        private Group(String key, Throwable sample) {
+            this.key = key;
+            this.sample = sample;
+        }
+
+        private boolean increment() {
+            long current;
+            do {
+                current = count.get();
+                if (current == FORGOTTEN)
+                    return false;
+            } while (!count.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        /**
+         * @return failures since the last flush, {@link #FORGOTTEN} when the group is forgotten
+         */
+        private long drain() {
+            long current;
+            do {
+                current = count.get();
+                if (current == FORGOTTEN)
+                    return FORGOTTEN;
+            } while (!count.compareAndSet(current, 0L));
+            return current;
+        }
+
+        /**
+         * @return false when a failure came in after the drain, the next flush logs it
+         */
+        private boolean forget() {
+            return count.compareAndSet(0L, FORGOTTEN);
+        }
+    }
+
+}
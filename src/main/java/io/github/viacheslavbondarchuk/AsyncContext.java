@@ -0,0 +1,69 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 1:05 PM
+ * date: 10/16/2026
+ * <p>
+ * Settings of an async chain, attached at {@link Monad#wrapAsync(Object, AsyncContext)}.
+ * Same context can be shared by many chains, every chain gets its own barrier and deadline
+ **/
+
+@Getter
+@Builder(toBuilder = true)
+public final class AsyncContext {
+    static final AsyncContext DEFAULT = AsyncContext.builder().build();
+
+    /**
+     * Executor of async stages, CompletableFuture default pool when null
+     */
+    private final Executor executor;
+
+    /**
+     * Chain-wide deadline counted from wrapAsync, no deadline when null
+     */
+    private final Duration timeout;
+
+    /**
+     * Limits async stages of the chain in flight, shared with every chain of the same bulkhead, no limit when null
+     */
+    private final Bulkhead bulkhead;
+
+    /**
+     * First failed stage cancels the chain, running siblings are interrupted and unwrap rethrows the failure
+     * with errors of the siblings suppressed
+     */
+    private final boolean failFast;
+
+    /**
+     * Async stages of the chain run one at a time in submission order on a serial queue over the executor,
+     * callers don't block and other chains keep running in parallel
+     */
+    private final boolean ordered;
+
+    /**
+     * Adaptive dispatch, stages whose call site ran faster than this on average run inline on the submitting
+     * thread and skip the executor and the barrier. Ignored by ordered chains, always dispatched when null
+     */
+    private final Duration inlineThreshold;
+
+    /**
+     * Receives failures of stages of the chain, the installed {@link MonadErrorHandler} when null
+     */
+    private final MonadErrorHandler errorHandler;
+
+    public static AsyncContext of(Executor executor) {
+        Objects.requireNonNull(executor);
+        return AsyncContext.builder()
+                .executor(executor)
+                .build();
+    }
+
+}
@@ -0,0 +1,119 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 1:10 AM
+ * date: 10/17/2026
+ * <p>
+ * Bounded queue between two pipeline stages, a whole batch is put or drained under one lock acquisition
+ **/
+
+final class BatchQueue<E> {
+    private final Object[] items;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private int head;
+    private int count;
+    private boolean closed;
+
+    BatchQueue(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive");
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * Blocks while the queue is full, a batch larger than the free space is handed off in parts
+     */
+    void putAll(List<? extends E> batch) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            for (E item : batch) {
+                while (count == items.length && !closed) {
+                    notEmpty.signalAll();
+                    notFull.await();
+                }
+                if (closed)
+                    throw new IllegalStateException("Queue is closed");
+                items[(head + count++) % items.length] = item;
+            }
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean offer(E item, long timeoutNanos) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            long remaining = timeoutNanos;
+            while (count == items.length && !closed) {
+                if (remaining <= 0)
+                    return false;
+                remaining = notFull.awaitNanos(remaining);
+            }
+            if (closed)
+                throw new IllegalStateException("Queue is closed");
+            items[(head + count++) % items.length] = item;
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks while the queue is empty
+     *
+     * @return number of drained items, -1 when the queue is closed and empty
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> batch, int max) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (count == 0) {
+                if (closed)
+                    return -1;
+                notEmpty.await();
+            }
+            int drained = Math.min(count, max);
+            for (int i = 0; i < drained; i++) {
+                batch.add((E) items[head]);
+                items[head] = null;
+                head = (head + 1) % items.length;
+            }
+            count -= drained;
+            notFull.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
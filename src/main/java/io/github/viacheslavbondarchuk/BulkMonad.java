@@ -0,0 +1,142 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 2:10 PM
+ * date: 10/16/2026
+ * <p>
+ * Monad over a batch of values, see {@link Monad#wrapAll(Collection)}.
+ * Every stage runs over the whole batch in chunks on a fork-join pool and returns when the batch is done,
+ * results are collected into a plain array. Functions and consumers must be thread safe
+ **/
+
+@SuppressWarnings("unchecked")
+public class BulkMonad<T> {
+    /**
+     * Chunk which isn't worth a separate task
+     */
+    private static final int MIN_CHUNK = 16;
+    /**
+     * Stop splitting when workers already have this many idle tasks queued
+     */
+    private static final int MAX_SURPLUS = 3;
+
+    private final ForkJoinPool pool;
+    private final Object[] values;
+
+    BulkMonad(Object[] values, ForkJoinPool pool) {
+        this.values = values;
+        this.pool = pool;
+    }
+
+    public BulkMonad<T> apply(Consumer<T> consumer) {
+        forEach(index -> {
+            if (Objects.nonNull(values[index]))
+                consumer.accept((T) values[index]);
+        });
+        return this;
+    }
+
+    public <R> BulkMonad<T> applyAndConsume(Function<T, R> function, Consumer<R> consumer) {
+        forEach(index -> {
+            if (Objects.nonNull(values[index]))
+                consumer.accept(function.apply((T) values[index]));
+        });
+        return this;
+    }
+
+    /**
+     * Operation runs once per null value of the batch
+     */
+    public BulkMonad<T> applyIfNull(Monad.Operation operation) {
+        forEach(index -> {
+            if (Objects.isNull(values[index]))
+                operation.apply();
+        });
+        return this;
+    }
+
+    public <M> BulkMonad<M> mutable(Function<T, M> function) {
+        Object[] result = new Object[values.length];
+        forEach(index -> {
+            if (Objects.nonNull(values[index]))
+                result[index] = function.apply((T) values[index]);
+        });
+        return new BulkMonad<>(result, pool);
+    }
+
+    /**
+     * Null values of the batch are replaced by supplier, others are kept. Unlike {@link Monad#mutableIfNull(Supplier)}
+     * it works per value, so the type of the batch stays the same
+     */
+    public BulkMonad<T> fillNulls(Supplier<T> supplier) {
+        Object[] result = new Object[values.length];
+        forEach(index -> result[index] = Objects.isNull(values[index]) ? supplier.get() : values[index]);
+        return new BulkMonad<>(result, pool);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return values of the batch in the original order, null stays null
+     */
+    public List<T> unwrap() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) values));
+    }
+
+    private void forEach(IntConsumer action) {
+        int parallelism = pool.getParallelism();
+        int minChunk = Math.max(MIN_CHUNK, values.length / (parallelism << 3));
+        if (values.length <= minChunk || parallelism == 1) {
+            for (int index = 0; index < values.length; index++)
+                action.accept(index);
+            return;
+        }
+        pool.invoke(new Chunk(null, 0, values.length, minChunk, action));
+    }
+
+    private static final class Chunk extends CountedCompleter<Void> {
+        private final int from;
+        private final int to;
+        private final int minChunk;
+        private final IntConsumer action;
+
+        private Chunk(Chunk parent, int from, int to, int minChunk, IntConsumer action) {
+            super(parent);
+            this.from = from;
+            this.to = to;
+            this.minChunk = minChunk;
+            this.action = action;
+        }
+
+        @Override
+        public void compute() {
+            int to = this.to;
+            // split in halves while the range is big and other workers are hungry for tasks
+            while (to - from > minChunk && getSurplusQueuedTaskCount() <= MAX_SURPLUS) {
+                int middle = (from + to) >>> 1;
+                addToPendingCount(1);
+                new Chunk(this, middle, to, minChunk, action).fork();
+                to = middle;
+            }
+            for (int index = from; index < to; index++)
+                action.accept(index);
+            tryComplete();
+        }
+    }
+
+}
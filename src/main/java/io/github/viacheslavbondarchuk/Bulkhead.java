@@ -0,0 +1,218 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 11:00 PM
+ * date: 10/16/2026
+ * <p>
+ * Limits async stages in flight, attached through the {@code bulkhead} of {@link AsyncContext} or wrapped around any executor
+ * by {@link #wrap(Executor)}. No more than maxConcurrent stages run on the executor and no more than maxQueue wait
+ * for a slot, everything above goes to the rejection policy. Share one bulkhead between chains to limit the process
+ **/
+
+public final class Bulkhead {
+    @Getter
+    private final String name;
+    @Getter
+    private final int maxConcurrent;
+    @Getter
+    private final int maxQueue;
+    @Getter
+    private final RejectionPolicy rejection;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+    // not a monitor, virtual threads waiting for a slot must not pin their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LongAdder rejected = new LongAdder();
+
+    @Builder
+    private Bulkhead(String name, int maxConcurrent, int maxQueue, RejectionPolicy rejection) {
+        if (maxConcurrent <= 0)
+            throw new IllegalArgumentException("maxConcurrent must be positive");
+        if (maxQueue < 0)
+            throw new IllegalArgumentException("maxQueue must not be negative");
+        this.name = Objects.requireNonNull(name);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.rejection = Objects.isNull(rejection) ? RejectionPolicy.failFast() : rejection;
+    }
+
+    public static Bulkhead of(String name, int maxConcurrent, int maxQueue) {
+        return Bulkhead.builder()
+                .name(name)
+                .maxConcurrent(maxConcurrent)
+                .maxQueue(maxQueue)
+                .build();
+    }
+
+    /**
+     * @param executor runs admitted tasks, CompletableFuture default pool when null
+     */
+    public Executor wrap(Executor executor) {
+        Executor delegate = Stage.executorOrDefault(executor);
+        return task -> execute(task, delegate);
+    }
+
+    public int running() {
+        return running.get();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Executor of the serial queue of an ordered chain. Caller-runs hands the drain to the executor without a slot,
+     * the submitting thread of an ordered chain never runs it
+     */
+    Executor serial(Executor executor) {
+        Executor delegate = Stage.executorOrDefault(executor);
+        return task -> execute(task, delegate, false);
+    }
+
+    void execute(Runnable task, Executor executor) {
+        execute(task, executor, true);
+    }
+
+    private void execute(Runnable task, Executor executor, boolean inline) {
+        if (tryAdmit(task, executor))
+            return;
+        switch (rejection.getKind()) {
+            case CALLER_RUNS:
+                if (inline)
+                    task.run();
+                else
+                    executor.execute(task);
+                return;
+            case WAIT:
+                if (await(task, executor))
+                    return;
+                // fall through, timed out
+            default:
+                rejected.increment();
+                throw new BulkheadFullException(name, running.get(), queued.get());
+        }
+    }
+
+    private boolean tryAdmit(Runnable task, Executor executor) {
+        if (tryAcquire(running, maxConcurrent)) {
+            submit(new Pending(task, executor));
+            return true;
+        }
+        if (!tryAcquire(queued, maxQueue))
+            return false;
+        queue.add(new Pending(task, executor));
+        // every slot might have been released before the task was queued
+        drain();
+        return true;
+    }
+
+    private boolean await(Runnable task, Executor executor) {
+        long deadline = System.nanoTime() + rejection.getTimeout().toNanos();
+        waiters.incrementAndGet();
+        lock.lock();
+        try {
+            while (!tryAdmit(task, executor)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                    return false;
+                released.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for bulkhead " + name, ex);
+        } finally {
+            lock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    private void submit(Pending pending) {
+        try {
+            pending.executor.execute(() -> {
+                try {
+                    pending.task.run();
+                } finally {
+                    release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            release();
+            throw ex;
+        }
+    }
+
+    private void release() {
+        running.decrementAndGet();
+        drain();
+        if (waiters.get() > 0) {
+            lock.lock();
+            try {
+                released.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void drain() {
+        while (!queue.isEmpty() && tryAcquire(running, maxConcurrent)) {
+            Pending pending = queue.poll();
+            if (Objects.isNull(pending)) {
+                running.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                submit(pending);
+            } catch (RejectedExecutionException ex) {
+                // submitter is gone, the queued stage fails on its own
+                if (pending.task instanceof Stage)
+                    ((Stage<?>) pending.task).reject(ex);
+            }
+        }
+    }
+
+    private static boolean tryAcquire(AtomicInteger counter, int limit) {
+        int current;
+        do {
+            current = counter.get();
+            if (current >= limit)
+                return false;
+        } while (!counter.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private static final class Pending {
+        private final Runnable task;
+        private final Executor executor;
+
+        private Pending(Runnable task, Executor executor) {
+            this.task = task;
+            this.executor = executor;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.Getter;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 10:55 PM
+ * date: 10/16/2026
+ * <p>
+ * Stage was rejected by a full {@link Bulkhead}
+ **/
+
+@Getter
+public class BulkheadFullException extends RejectedExecutionException {
+    private final String bulkhead;
+
+    public BulkheadFullException(String bulkhead, int running, int queued) {
+        super("Bulkhead " + bulkhead + " is full, running: " + running + ", queued: " + queued);
+        this.bulkhead = bulkhead;
+    }
+
+}
@@ -0,0 +1,50 @@
+package io.github.viacheslavbondarchuk;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 3:30 AM
+ * date: 10/17/2026
+ * <p>
+ * Moving average of the run time of one call site of async stages, keyed by the class of the lambda passed
+ * to the monad. Inline runs are measured too, so a site which got expensive goes back to the executor
+ **/
+
+final class CallSite {
+    private static final ClassValue<CallSite> SITES = new ClassValue<>() {
+        @Override
+        protected CallSite computeValue(Class<?> type) {
+            return new CallSite();
+        }
+    };
+    private static final int SHIFT = 3;
+
+    /**
+     * nanos, negative until the site ran once. Racy updates only lose samples
+     */
+    private volatile long average = -1L;
+
+    private CallSite() {
+    }
+
+    static CallSite of(Object lambda) {
+        return SITES.get(lambda.getClass());
+    }
+
+    void record(long nanos) {
+        long current = average;
+        average = current < 0L ? nanos : current + ((nanos - current) >> SHIFT);
+    }
+
+    /**
+     * First run of a site always goes to the executor
+     */
+    boolean inline(long thresholdNanos) {
+        long current = average;
+        return current >= 0L && current < thresholdNanos;
+    }
+
+    long average() {
+        return average;
+    }
+
+}
@@ -0,0 +1,315 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 12:10 PM
+ * date: 10/16/2026
+ * <p>
+ * State shared by all monads of one async chain, from wrapAsync down through mutable and rollback
+ **/
+
+final class Chain {
+    private static final AtomicLong IDS = new AtomicLong();
+    private static final AtomicReferenceFieldUpdater<Chain, CompletionTracker> TRACKER =
+            AtomicReferenceFieldUpdater.newUpdater(Chain.class, CompletionTracker.class, "tracker");
+    private static final AtomicReferenceFieldUpdater<Chain, Set> STAGES =
+            AtomicReferenceFieldUpdater.newUpdater(Chain.class, Set.class, "stages");
+    private static final AtomicReferenceFieldUpdater<Chain, RuntimeException> CANCELLATION =
+            AtomicReferenceFieldUpdater.newUpdater(Chain.class, RuntimeException.class, "cancellation");
+
+    private final long id = IDS.incrementAndGet();
+    private final AsyncContext context;
+    private final long deadline;
+    private final ScheduledFuture<?> timer;
+    private final SerialExecutor serial;
+    private final ConcurrentMap<Executor, Executor> targets;
+    private final long inlineNanos;
+
+    private volatile CompletionTracker tracker;
+    private volatile Set<Stage<?>> stages;
+    private volatile RuntimeException cancellation;
+
+    Chain(AsyncContext context) {
+        this.context = context;
+        if (Objects.isNull(context.getTimeout())) {
+            this.deadline = Long.MAX_VALUE;
+            this.timer = null;
+        } else {
+            this.deadline = System.nanoTime() + context.getTimeout().toNanos();
+            this.timer = Scheduler.schedule(() -> expire(context.getTimeout()), context.getTimeout());
+        }
+        if (context.isOrdered()) {
+            this.serial = new SerialExecutor(context.getExecutor());
+            this.targets = Objects.isNull(context.getBulkhead()) ? null : new ConcurrentHashMap<>();
+        } else {
+            this.serial = null;
+            this.targets = null;
+        }
+        this.inlineNanos = Objects.isNull(context.getInlineThreshold()) || context.isOrdered() ?
+                -1L
+                : context.getInlineThreshold().toNanos();
+    }
+
+    long id() {
+        return id;
+    }
+
+    Executor executor() {
+        return context.getExecutor();
+    }
+
+    MonadErrorHandler errorHandler() {
+        return context.getErrorHandler();
+    }
+
+    boolean isOrdered() {
+        return context.isOrdered();
+    }
+
+    Duration timeout() {
+        return context.getTimeout();
+    }
+
+    /**
+     * Tracker is created by the first wait-other stage of the chain
+     */
+    CompletionTracker tracker() {
+        CompletionTracker current = tracker;
+        if (Objects.nonNull(current))
+            return current;
+        TRACKER.compareAndSet(this, null, new CompletionTracker());
+        return tracker;
+    }
+
+    /**
+     * Wait-other stage is registered on the barrier by the submitting thread, not when it starts running
+     *
+     * @param chain null for sync monads, nothing to wait for
+     */
+    static void track(Chain chain, CompletableFuture<?> future) {
+        if (Objects.nonNull(chain))
+            chain.tracker().track(future);
+    }
+
+    CompletionTracker trackerIfPresent() {
+        return tracker;
+    }
+
+    /**
+     * @param lambda function passed to the monad, cheap call sites of an adaptive chain run inline
+     */
+    <R> CompletableFuture<R> supplyAsync(String name, Object lambda, Supplier<R> supplier, Executor executor) {
+        CallSite site = inlineNanos < 0L ? null : CallSite.of(lambda);
+        Stage<R> stage = new Stage<>(this, name, supplier, site);
+        if (isCancelled()) {
+            stage.cancel(false);
+            return stage;
+        }
+        MonadEvents.submitted(this, name);
+        if (Objects.nonNull(site) && inline(name, site)) {
+            // not added to the stages of the chain, so its cancellation doesn't interrupt the caller thread
+            stage.run();
+            return stage;
+        }
+        stages().add(stage);
+        Bulkhead bulkhead = context.getBulkhead();
+        if (Objects.nonNull(serial))
+            order(stage, executor);
+        else if (Objects.isNull(bulkhead))
+            stage.execute(executor);
+        else
+            execute(stage, bulkhead, executor);
+        return stage;
+    }
+
+    long pending() {
+        CompletionTracker current = tracker;
+        return Objects.isNull(current) ? 0L : current.pending();
+    }
+
+    void remove(Stage<?> stage) {
+        Set<Stage<?>> current = stages;
+        if (Objects.nonNull(current))
+            current.remove(stage);
+    }
+
+    boolean isCancelled() {
+        return Objects.nonNull(cancellation);
+    }
+
+    RuntimeException cancellation() {
+        return cancellation;
+    }
+
+    /**
+     * Nanos left until the chain-wide deadline, {@link Long#MAX_VALUE} when the chain has none
+     */
+    long remaining() {
+        return deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * Waits for wait-other stages of the chain
+     *
+     * @throws DeadlineExceededException when timeout elapsed or the chain was cancelled by its deadline
+     */
+    void await(long timeoutNanos, Duration timeout) {
+        CompletionTracker current = tracker;
+        long parties = Objects.isNull(current) ? 0L : current.pending();
+        MonadEvents.WaitSpan span = MonadEvents.barrier();
+        boolean timedOut = false;
+        try {
+            if (Objects.nonNull(current) && !current.await(timeoutNanos)) {
+                timedOut = true;
+                expire(timeout);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancel(new CancellationException("Interrupted while awaiting monad chain"));
+        } finally {
+            span.finish(this, parties, timedOut);
+        }
+        if (isCancelled())
+            throw cancellation;
+    }
+
+    /**
+     * Non-blocking {@link #await(long, Duration)}, completes exceptionally with the cancellation of the chain
+     *
+     * @param timeout null to wait until the deadline of the chain only
+     */
+    CompletableFuture<Void> awaitAsync(Duration timeout) {
+        CompletionTracker current = tracker;
+        CompletableFuture<Void> idle = Objects.isNull(current) ? CompletableFuture.completedFuture(null) : current.whenIdle();
+        ScheduledFuture<?> expiry = Objects.isNull(timeout) || idle.isDone() ?
+                null
+                : Scheduler.schedule(() -> expire(timeout), timeout);
+        return idle.handle((ignored, ex) -> {
+            if (Objects.nonNull(expiry))
+                expiry.cancel(false);
+            if (isCancelled())
+                throw cancellation;
+            return null;
+        });
+    }
+
+    /**
+     * Failure of a stage, cancels the chain with it when the chain is fail-fast
+     *
+     * @return false when the chain isn't fail-fast and the failure is left to the stage
+     */
+    boolean fail(Throwable ex) {
+        if (!context.isFailFast())
+            return false;
+        Throwable cause = ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+        if (cause instanceof CancellationException)
+            return true;
+        MonadEvents.failed(this, cause);
+        RuntimeException failure = cause instanceof RuntimeException ?
+                (RuntimeException) cause
+                : new CompletionException(cause);
+        cancel(failure);
+        RuntimeException current = cancellation;
+        if (current != failure)
+            current.addSuppressed(cause);
+        return true;
+    }
+
+    /**
+     * Failure of a cancelled stage, kept as suppressed by the cancellation of the chain when there is one
+     */
+    void suppress(Throwable ex) {
+        RuntimeException current = cancellation;
+        Throwable cause = ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+        if (Objects.nonNull(current) && current != cause && !(cause instanceof CancellationException))
+            current.addSuppressed(cause);
+    }
+
+    void expire(Duration timeout) {
+        CompletionTracker current = tracker;
+        cancel(new DeadlineExceededException(timeout, Objects.isNull(current) ? 0 : current.pending()));
+    }
+
+    /**
+     * First cancellation wins, running stages are interrupted and stages not started yet are skipped
+     */
+    void cancel(RuntimeException cause) {
+        if (!CANCELLATION.compareAndSet(this, null, cause))
+            return;
+        Set<Stage<?>> current = stages;
+        if (Objects.nonNull(current))
+            current.forEach(stage -> stage.cancel(true));
+        complete();
+    }
+
+    /**
+     * Chain is finished, the deadline timer isn't needed anymore
+     */
+    void complete() {
+        if (Objects.nonNull(timer))
+            timer.cancel(false);
+    }
+
+    private Set<Stage<?>> stages() {
+        Set<Stage<?>> current = stages;
+        if (Objects.nonNull(current))
+            return current;
+        STAGES.compareAndSet(this, null, ConcurrentHashMap.newKeySet());
+        return stages;
+    }
+
+    private boolean inline(String name, CallSite site) {
+        boolean inline = site.inline(inlineNanos);
+        MonadMetrics metrics = Metrics.current();
+        if (Objects.nonNull(metrics))
+            metrics.onDispatch(name, inline);
+        return inline;
+    }
+
+    /**
+     * Stage of an ordered chain waits for the previous one in the serial queue of the chain, the serial queue
+     * holds one slot of the bulkhead while it drains, or drains on the executor without one when callers run
+     */
+    private void order(Stage<?> stage, Executor executor) {
+        try {
+            serial.execute(stage, target(executor));
+        } catch (RejectedExecutionException ex) {
+            stage.reject(ex);
+        }
+    }
+
+    /**
+     * Same executor gets the same target, so the serial queue keeps draining on it without hops
+     */
+    private Executor target(Executor executor) {
+        Executor delegate = Stage.executorOrDefault(executor);
+        if (Objects.isNull(targets))
+            return delegate;
+        Executor target = targets.get(delegate);
+        return Objects.nonNull(target) ? target : targets.computeIfAbsent(delegate, context.getBulkhead()::serial);
+    }
+
+    private static void execute(Stage<?> stage, Bulkhead bulkhead, Executor executor) {
+        try {
+            bulkhead.execute(stage, Stage.executorOrDefault(executor));
+        } catch (RejectedExecutionException ex) {
+            stage.reject(ex);
+        }
+    }
+
+}
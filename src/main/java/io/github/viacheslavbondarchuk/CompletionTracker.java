@@ -0,0 +1,114 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 12:02 PM
+ * date: 10/16/2026
+ * <p>
+ * Barrier of wait-other stages. Stage is tracked by the submitting thread, so a waiter
+ * which comes after submission always sees it. No limit on the number of parties
+ **/
+
+@Slf4j
+final class CompletionTracker {
+    private final AtomicLong pending = new AtomicLong();
+    private final Queue<CompletableFuture<?>> futures = new ConcurrentLinkedQueue<>();
+
+    void track(CompletableFuture<?> future) {
+        // stage ran inline, nothing to wait for
+        if (future.isDone())
+            return;
+        pending.incrementAndGet();
+        futures.add(future);
+        future.whenComplete(this::arrive);
+        prune();
+    }
+
+    long pending() {
+        return pending.get();
+    }
+
+    /**
+     * Waits until every stage tracked before and during the wait is done
+     */
+    void await() {
+        CompletableFuture<?> future;
+        while (Objects.nonNull(future = futures.peek())) {
+            try {
+                future.join();
+            } catch (RuntimeException ignored) {
+                // failure of a stage was already handled by the stage itself
+            }
+            futures.remove(future);
+        }
+    }
+
+    /**
+     * @return false when the timeout elapsed before every tracked stage was done
+     */
+    boolean await(long timeoutNanos) throws InterruptedException {
+        if (timeoutNanos == Long.MAX_VALUE) {
+            await();
+            return true;
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        CompletableFuture<?> future;
+        while (Objects.nonNull(future = futures.peek())) {
+            try {
+                future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                return false;
+            } catch (ExecutionException | CancellationException ignored) {
+                // failure of a stage was already handled by the stage itself
+            }
+            futures.remove(future);
+        }
+        return true;
+    }
+
+    /**
+     * Non-blocking {@link #await()}, completes once every stage tracked before and during the wait is done
+     */
+    CompletableFuture<Void> whenIdle() {
+        CompletableFuture<Void> idle = new CompletableFuture<>();
+        whenIdle(idle);
+        return idle;
+    }
+
+    private void whenIdle(CompletableFuture<Void> idle) {
+        prune();
+        CompletableFuture<?>[] snapshot = futures.toArray(new CompletableFuture[0]);
+        if (snapshot.length == 0) {
+            idle.complete(null);
+            return;
+        }
+        // stages tracked while waiting for the snapshot are picked up by the recheck
+        CompletableFuture.allOf(snapshot).whenComplete((ignored, ex) -> whenIdle(idle));
+    }
+
+    private void arrive(Object value, Throwable ex) {
+        if (log.isDebugEnabled())
+            log.debug("Thread: {}, did arrive and deregister", Thread.currentThread().getName());
+        pending.decrementAndGet();
+    }
+
+    private void prune() {
+        CompletableFuture<?> future;
+        while (Objects.nonNull(future = futures.peek()) && future.isDone()) {
+            futures.remove(future);
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 1:12 PM
+ * date: 10/16/2026
+ * <p>
+ * Thrown by unwrap/await when the chain didn't finish in time, stages of the chain are cancelled by then
+ **/
+
+@Getter
+public class DeadlineExceededException extends RuntimeException {
+    private final Duration timeout;
+    private final long pending;
+
+    public DeadlineExceededException(Duration timeout, long pending) {
+        super("Monad chain did not finish within " + timeout + ", stages outstanding: " + pending);
+        this.timeout = timeout;
+        this.pending = pending;
+    }
+
+}
@@ -0,0 +1,181 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 5:25 PM
+ * date: 10/16/2026
+ * <p>
+ * {@link Monad} specialized for double. Stages take primitive functions and add into DoubleAdder sinks,
+ * so no step of the chain boxes. Empty monad is flagged instead of holding null
+ **/
+
+public class DoubleMonad extends PrimitiveMonad<DoubleMonad> {
+    private static final DoubleMonad EMPTY = new DoubleMonad(0D, true, null);
+
+    private final double value;
+
+    DoubleMonad(double value, boolean empty, Chain chain) {
+        super(empty, chain);
+        this.value = value;
+    }
+
+    public static DoubleMonad empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Empty result of a conversion, shared for sync monads
+     */
+    static DoubleMonad empty(Chain chain) {
+        return Objects.isNull(chain) ? EMPTY : new DoubleMonad(0D, true, chain);
+    }
+
+    public static DoubleMonad emptyAsync() {
+        return new DoubleMonad(0D, true, new Chain(AsyncContext.DEFAULT));
+    }
+
+    public static DoubleMonad wrap(double value) {
+        return new DoubleMonad(value, false, null);
+    }
+
+    public static DoubleMonad wrapAsync(double value) {
+        return new DoubleMonad(value, false, new Chain(AsyncContext.DEFAULT));
+    }
+
+    public static DoubleMonad wrapAsync(double value, Executor executor) {
+        return new DoubleMonad(value, false, new Chain(AsyncContext.of(executor)));
+    }
+
+    public static DoubleMonad wrapAsync(double value, AsyncContext context) {
+        Objects.requireNonNull(context);
+        return new DoubleMonad(value, false, new Chain(context));
+    }
+
+    public DoubleMonad apply(DoubleConsumer consumer) {
+        if (!empty)
+            consumer.accept(value);
+        return this;
+    }
+
+    public DoubleMonad applyAndAdd(DoubleUnaryOperator operator, DoubleAdder adder) {
+        if (!empty)
+            adder.add(operator.applyAsDouble(value));
+        return this;
+    }
+
+    public DoubleMonad applyAndConsume(DoubleUnaryOperator operator, DoubleConsumer consumer) {
+        if (!empty)
+            consumer.accept(operator.applyAsDouble(value));
+        return this;
+    }
+
+    public DoubleMonad applyAsync(DoubleConsumer consumer) {
+        return applyAsync(consumer, executor());
+    }
+
+    public DoubleMonad applyAsync(DoubleConsumer consumer, Executor executor) {
+        return async("applyAsync", consumer, () -> consumer.accept(value), executor);
+    }
+
+    public DoubleMonad applyAsyncAndAdd(DoubleUnaryOperator operator, DoubleAdder adder) {
+        return applyAsyncAndAdd(operator, adder, executor());
+    }
+
+    public DoubleMonad applyAsyncAndAdd(DoubleUnaryOperator operator, DoubleAdder adder, Executor executor) {
+        return async("applyAsyncAndAdd", operator, () -> adder.add(operator.applyAsDouble(value)), executor);
+    }
+
+    public DoubleMonad applyAsyncAndConsume(DoubleUnaryOperator operator, DoubleConsumer consumer) {
+        return applyAsyncAndConsume(operator, consumer, executor());
+    }
+
+    public DoubleMonad applyAsyncAndConsume(DoubleUnaryOperator operator, DoubleConsumer consumer, Executor executor) {
+        return async("applyAsyncAndConsume", operator, () -> consumer.accept(operator.applyAsDouble(value)), executor);
+    }
+
+    public DoubleMonad applyAsyncAndWaitOther(DoubleConsumer consumer) {
+        return applyAsyncAndWaitOther(consumer, executor());
+    }
+
+    public DoubleMonad applyAsyncAndWaitOther(DoubleConsumer consumer, Executor executor) {
+        return asyncAndWaitOther("applyAsyncAndWaitOther", consumer, () -> consumer.accept(value), executor);
+    }
+
+    public DoubleMonad applyAsyncWaitOtherAndAdd(DoubleUnaryOperator operator, DoubleAdder adder) {
+        return applyAsyncWaitOtherAndAdd(operator, adder, executor());
+    }
+
+    public DoubleMonad applyAsyncWaitOtherAndAdd(DoubleUnaryOperator operator, DoubleAdder adder, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndAdd", operator, () -> adder.add(operator.applyAsDouble(value)), executor);
+    }
+
+    public DoubleMonad applyAsyncWaitOtherAndConsume(DoubleUnaryOperator operator, DoubleConsumer consumer) {
+        return applyAsyncWaitOtherAndConsume(operator, consumer, executor());
+    }
+
+    public DoubleMonad applyAsyncWaitOtherAndConsume(DoubleUnaryOperator operator, DoubleConsumer consumer, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndConsume", operator, () -> consumer.accept(operator.applyAsDouble(value)), executor);
+    }
+
+    public DoubleMonad mutable(DoubleUnaryOperator operator) {
+        if (empty)
+            return Objects.isNull(chain) ? EMPTY : this;
+        return new DoubleMonad(operator.applyAsDouble(value), false, chain);
+    }
+
+    public DoubleMonad mutableIfEmpty(DoubleSupplier supplier) {
+        return empty ? new DoubleMonad(supplier.getAsDouble(), false, chain) : this;
+    }
+
+    public IntMonad mutableToInt(DoubleToIntFunction function) {
+        return empty ?
+                IntMonad.empty(chain)
+                : new IntMonad(function.applyAsInt(value), false, chain);
+    }
+
+    public LongMonad mutableToLong(DoubleToLongFunction function) {
+        return empty ?
+                LongMonad.empty(chain)
+                : new LongMonad(function.applyAsLong(value), false, chain);
+    }
+
+    public <M> Monad<M, Double> mutableToObj(DoubleFunction<M> function) {
+        return Monad.of(empty ? null : function.apply(value), chain);
+    }
+
+    public double orElse(double other) {
+        return empty ? other : value;
+    }
+
+    /**
+     * @throws NoSuchElementException when the monad is empty
+     */
+    public double unwrap() {
+        await();
+        complete();
+        return value;
+    }
+
+    /**
+     * @throws DeadlineExceededException when timeout or deadline of the chain has passed
+     * @throws NoSuchElementException    when the monad is empty
+     */
+    public double unwrap(Duration timeout) {
+        await(timeout);
+        complete();
+        return value;
+    }
+
+}
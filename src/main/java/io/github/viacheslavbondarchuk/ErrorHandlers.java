@@ -0,0 +1,54 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 12:25 AM
+ * date: 10/17/2026
+ * <p>
+ * Routes failures of stages to the handler of their chain, the installed one or the default aggregating one
+ **/
+
+final class ErrorHandlers {
+    private static volatile MonadErrorHandler installed;
+
+    private ErrorHandlers() {
+    }
+
+    static void install(MonadErrorHandler handler) {
+        installed = handler;
+    }
+
+    /**
+     * Failure of a stage as seen by its dependents, they get the value unless the chain is cancelled
+     */
+    static <V> V recover(Chain chain, String stage, V value, Throwable ex) {
+        if (Objects.isNull(ex))
+            return value;
+        if (Objects.nonNull(chain) && chain.isCancelled())
+            throw new CompletionException(ex);
+        handle(chain, stage, ex);
+        return value;
+    }
+
+    /**
+     * @param stage name of the failed stage, null when the failure doesn't belong to one
+     */
+    static void handle(Chain chain, String stage, Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+        MonadEvents.failed(chain, cause);
+        MonadErrorHandler handler = Objects.isNull(chain) ? null : chain.errorHandler();
+        if (Objects.isNull(handler))
+            handler = installed;
+        if (Objects.isNull(handler))
+            handler = Default.HANDLER;
+        handler.onError(stage, cause);
+    }
+
+    private static final class Default {
+        private static final AggregatingErrorHandler HANDLER = new AggregatingErrorHandler();
+    }
+
+}
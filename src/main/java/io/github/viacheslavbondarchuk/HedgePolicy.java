@@ -0,0 +1,193 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 10:05 PM
+ * date: 10/16/2026
+ * <p>
+ * When a second attempt of an idempotent async stage starts, see {@link Monad#applyAsyncHedgedAndStore}.
+ * First successful attempt wins and the other one is cancelled. Hedges are limited to a ratio of calls,
+ * so share one policy between all chains calling the same service. Ordered chains never hedge, the second
+ * attempt would wait for the first one
+ **/
+
+public final class HedgePolicy {
+    private static final long TOKEN = 1_000_000L;
+    private static final long BURST = 10 * TOKEN;
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final double DEFAULT_MAX_RATIO = 0.05d;
+
+    private final double quantile;
+    private final long deposit;
+    private final AtomicLong budget = new AtomicLong();
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+
+    private volatile long delayNanos;
+
+    private HedgePolicy(Duration delay, double quantile, double maxRatio) {
+        if (delay.isNegative())
+            throw new IllegalArgumentException("delay must not be negative");
+        if (maxRatio < 0d || maxRatio > 1d)
+            throw new IllegalArgumentException("maxRatio must be within [0, 1]");
+        this.delayNanos = delay.toNanos();
+        this.quantile = quantile;
+        this.deposit = (long) (maxRatio * TOKEN);
+    }
+
+    /**
+     * Hedges after a fixed delay, no more than 5% of calls
+     */
+    public static HedgePolicy after(Duration delay) {
+        return after(delay, DEFAULT_MAX_RATIO);
+    }
+
+    /**
+     * @param maxRatio part of calls which may be hedged
+     */
+    public static HedgePolicy after(Duration delay, double maxRatio) {
+        return new HedgePolicy(delay, Double.NaN, maxRatio);
+    }
+
+    /**
+     * Hedges after the quantile of recent latencies, initialDelay is used until enough latencies are recorded
+     */
+    public static HedgePolicy percentile(double quantile, Duration initialDelay) {
+        return percentile(quantile, initialDelay, DEFAULT_MAX_RATIO);
+    }
+
+    public static HedgePolicy percentile(double quantile, Duration initialDelay, double maxRatio) {
+        if (!(quantile > 0d && quantile < 1d))
+            throw new IllegalArgumentException("quantile must be within (0, 1)");
+        return new HedgePolicy(initialDelay, quantile, maxRatio);
+    }
+
+    public Duration delay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    public long calls() {
+        return calls.sum();
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * @param chain    null for sync monads
+     * @param attempt  starts one attempt of the stage
+     * @param executor starts the second attempt, the timer thread only hands it over
+     */
+    <R> CompletableFuture<R> hedge(Chain chain, Supplier<CompletableFuture<R>> attempt, Executor executor) {
+        if (Objects.nonNull(chain) && chain.isOrdered()) {
+            calls.increment();
+            return attempt.get();
+        }
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicReferenceArray<CompletableFuture<R>> attempts = new AtomicReferenceArray<>(2);
+        AtomicInteger running = new AtomicInteger(1);
+        long started = System.nanoTime();
+        calls.increment();
+        deposit();
+
+        CompletableFuture<R> first = attempt.get();
+        attempts.set(0, first);
+        Executor starter = Stage.executorOrDefault(executor);
+        ScheduledFuture<?> timer = first.isDone() ? null : Scheduler.schedule(() -> {
+            if (result.isDone())
+                return;
+            try {
+                starter.execute(() -> {
+                    if (result.isDone() || !tryAcquire())
+                        return;
+                    hedges.increment();
+                    running.incrementAndGet();
+                    CompletableFuture<R> second = attempt.get();
+                    attempts.set(1, second);
+                    second.whenComplete((value, ex) -> settle(result, running, value, ex));
+                    if (result.isDone())
+                        second.cancel(true);
+                });
+            } catch (RejectedExecutionException ignored) {
+                // executor is saturated, the first attempt goes on alone
+            }
+        }, delay());
+        first.whenComplete((value, ex) -> settle(result, running, value, ex));
+
+        result.whenComplete((value, ex) -> {
+            if (Objects.nonNull(timer))
+                timer.cancel(false);
+            if (Objects.isNull(ex))
+                record(System.nanoTime() - started);
+            for (int i = 0; i < attempts.length(); i++) {
+                CompletableFuture<R> loser = attempts.get(i);
+                if (Objects.nonNull(loser) && !loser.isDone())
+                    loser.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Failure completes the result only when no other attempt is running
+     */
+    private static <R> void settle(CompletableFuture<R> result, AtomicInteger running, R value, Throwable ex) {
+        if (Objects.isNull(ex))
+            result.complete(value);
+        else if (running.decrementAndGet() == 0)
+            result.completeExceptionally(ex);
+    }
+
+    private void deposit() {
+        long current;
+        do {
+            current = budget.get();
+            if (current >= BURST)
+                return;
+        } while (!budget.compareAndSet(current, Math.min(BURST, current + deposit)));
+    }
+
+    private boolean tryAcquire() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN)
+                return false;
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    private void record(long latency) {
+        if (Double.isNaN(quantile))
+            return;
+        long index = recorded.getAndIncrement();
+        latencies.set((int) (index % SAMPLES), latency);
+        if ((index + 1) % RECOMPUTE_EVERY == 0) {
+            int size = (int) Math.min(index + 1, SAMPLES);
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++)
+                sorted[i] = latencies.get(i);
+            Arrays.sort(sorted);
+            delayNanos = sorted[Math.min(size - 1, (int) (quantile * size))];
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 6:20 PM
+ * date: 10/16/2026
+ * <p>
+ * In-memory {@link MonadMetrics} with log2 buckets of nanos per stage, read by exporters through {@link #snapshot()}
+ **/
+
+public final class HistogramMetrics implements MonadMetrics {
+    private static final int BUCKETS = 64;
+
+    private final ConcurrentMap<String, StageHistogram> stages = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStage(String stage, long queueNanos, long runNanos, Throwable failure, long parties) {
+        StageHistogram histogram = stages.get(stage);
+        if (Objects.isNull(histogram))
+            histogram = stages.computeIfAbsent(stage, ignored -> new StageHistogram());
+        histogram.record(queueNanos, runNanos, failure, parties);
+    }
+
+    @Override
+    public void onDispatch(String stage, boolean inline) {
+        StageHistogram histogram = stages.get(stage);
+        if (Objects.isNull(histogram))
+            histogram = stages.computeIfAbsent(stage, ignored -> new StageHistogram());
+        (inline ? histogram.inlined : histogram.dispatched).increment();
+    }
+
+    public Map<String, StageSnapshot> snapshot() {
+        Map<String, StageSnapshot> snapshot = new TreeMap<>();
+        stages.forEach((stage, histogram) -> snapshot.put(stage, histogram.snapshot()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    public void reset() {
+        stages.clear();
+    }
+
+    private static final class StageHistogram {
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder inlined = new LongAdder();
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAccumulator maxParties = new LongAccumulator(Long::max, 0L);
+        private final Histogram queue = new Histogram();
+        private final Histogram run = new Histogram();
+
+        private void record(long queueNanos, long runNanos, Throwable failure, long parties) {
+            queue.record(queueNanos);
+            run.record(runNanos);
+            if (Objects.nonNull(failure))
+                failures.increment();
+            maxParties.accumulate(parties);
+        }
+
+        private StageSnapshot snapshot() {
+            Distribution run = this.run.snapshot();
+            return new StageSnapshot(run.count, failures.sum(), maxParties.get(), inlined.sum(), dispatched.sum(),
+                    queue.snapshot(), run);
+        }
+    }
+
+    private static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Long::max, 0L);
+
+        private Histogram() {
+            for (int i = 0; i < BUCKETS; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        private void record(long nanos) {
+            long value = Math.max(0L, nanos);
+            buckets[Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(value))].increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        private Distribution snapshot() {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++)
+                count += counts[i] = buckets[i].sum();
+            return new Distribution(counts, count, sum.sum(), max.get());
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class StageSnapshot {
+        private final long count;
+        private final long failures;
+        /**
+         * highest number of wait-other stages outstanding on a barrier when the stage finished
+         */
+        private final long parties;
+        /**
+         * decisions of adaptive chains, stages run on the submitting thread and stages sent to the executor
+         */
+        private final long inlined;
+        private final long dispatched;
+        private final Distribution queue;
+        private final Distribution run;
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Distribution {
+        /**
+         * bucket i holds values in [2^(i-1), 2^i), bucket 0 holds zeros
+         */
+        private final long[] buckets;
+        @Getter
+        private final long count;
+        @Getter
+        private final long sum;
+        @Getter
+        private final long max;
+
+        public long[] buckets() {
+            return buckets.clone();
+        }
+
+        public double mean() {
+            return count == 0 ? 0d : (double) sum / count;
+        }
+
+        /**
+         * @return upper bound of the bucket holding the quantile, capped by the max observed
+         */
+        public long percentile(double quantile) {
+            if (quantile < 0d || quantile > 1d)
+                throw new IllegalArgumentException("quantile must be within [0, 1]");
+            if (count == 0)
+                return 0L;
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= Math.max(1L, rank))
+                    return i == 0 ? 0L : Math.min(max, i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+            return max;
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 4:15 PM
+ * date: 10/16/2026
+ * <p>
+ * How many previous monads a chain keeps for {@link Monad#rollback()}, see {@link Monad#history(HistoryPolicy)}.
+ * Rollback past the kept history gives an empty monad
+ **/
+
+@EqualsAndHashCode
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HistoryPolicy {
+    private static final HistoryPolicy FULL = new HistoryPolicy(Kind.FULL, Integer.MAX_VALUE);
+    private static final HistoryPolicy NONE = new HistoryPolicy(Kind.NONE, 0);
+    private static final HistoryPolicy WEAK = new HistoryPolicy(Kind.WEAK, 1);
+
+    private final Kind kind;
+    private final int depth;
+
+    /**
+     * Every previous monad stays reachable until the last one is collected, default
+     */
+    public static HistoryPolicy full() {
+        return FULL;
+    }
+
+    /**
+     * Intermediate values are collectable right after the next step, rollback isn't possible
+     */
+    public static HistoryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * Keeps depth previous monads for rollback, memory of the chain stays flat no matter how long it is.
+     * Up to twice the depth stay reachable, so the kept ones are copied only once per depth steps
+     */
+    public static HistoryPolicy last(int depth) {
+        if (depth < 1)
+            throw new IllegalArgumentException("History depth must be positive: " + depth);
+        return new HistoryPolicy(Kind.LAST, depth);
+    }
+
+    /**
+     * Previous monad is weakly referenced, rollback works until GC reclaims it
+     */
+    public static HistoryPolicy weak() {
+        return WEAK;
+    }
+
+    enum Kind {
+        FULL, NONE, LAST, WEAK
+    }
+
+}
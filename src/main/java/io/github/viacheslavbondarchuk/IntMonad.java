@@ -0,0 +1,204 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 4:50 PM
+ * date: 10/16/2026
+ * <p>
+ * {@link Monad} specialized for int. Stages take primitive functions and store into atomic or adder sinks,
+ * so no step of the chain boxes. Empty monad is flagged instead of holding null
+ **/
+
+public class IntMonad extends PrimitiveMonad<IntMonad> {
+    private static final IntMonad EMPTY = new IntMonad(0, true, null);
+
+    private final int value;
+
+    IntMonad(int value, boolean empty, Chain chain) {
+        super(empty, chain);
+        this.value = value;
+    }
+
+    public static IntMonad empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Empty result of a conversion, shared for sync monads
+     */
+    static IntMonad empty(Chain chain) {
+        return Objects.isNull(chain) ? EMPTY : new IntMonad(0, true, chain);
+    }
+
+    public static IntMonad emptyAsync() {
+        return new IntMonad(0, true, new Chain(AsyncContext.DEFAULT));
+    }
+
+    public static IntMonad wrap(int value) {
+        return new IntMonad(value, false, null);
+    }
+
+    public static IntMonad wrapAsync(int value) {
+        return new IntMonad(value, false, new Chain(AsyncContext.DEFAULT));
+    }
+
+    public static IntMonad wrapAsync(int value, Executor executor) {
+        return new IntMonad(value, false, new Chain(AsyncContext.of(executor)));
+    }
+
+    public static IntMonad wrapAsync(int value, AsyncContext context) {
+        Objects.requireNonNull(context);
+        return new IntMonad(value, false, new Chain(context));
+    }
+
+    public IntMonad apply(IntConsumer consumer) {
+        if (!empty)
+            consumer.accept(value);
+        return this;
+    }
+
+    public IntMonad applyAndStore(IntUnaryOperator operator, AtomicInteger atomicInteger) {
+        if (!empty)
+            atomicInteger.set(operator.applyAsInt(value));
+        return this;
+    }
+
+    public IntMonad applyAndAdd(IntUnaryOperator operator, LongAdder adder) {
+        if (!empty)
+            adder.add(operator.applyAsInt(value));
+        return this;
+    }
+
+    public IntMonad applyAndConsume(IntUnaryOperator operator, IntConsumer consumer) {
+        if (!empty)
+            consumer.accept(operator.applyAsInt(value));
+        return this;
+    }
+
+    public IntMonad applyAsync(IntConsumer consumer) {
+        return applyAsync(consumer, executor());
+    }
+
+    public IntMonad applyAsync(IntConsumer consumer, Executor executor) {
+        return async("applyAsync", consumer, () -> consumer.accept(value), executor);
+    }
+
+    public IntMonad applyAsyncAndStore(IntUnaryOperator operator, AtomicInteger atomicInteger) {
+        return applyAsyncAndStore(operator, atomicInteger, executor());
+    }
+
+    public IntMonad applyAsyncAndStore(IntUnaryOperator operator, AtomicInteger atomicInteger, Executor executor) {
+        return async("applyAsyncAndStore", operator, () -> atomicInteger.set(operator.applyAsInt(value)), executor);
+    }
+
+    public IntMonad applyAsyncAndAdd(IntUnaryOperator operator, LongAdder adder) {
+        return applyAsyncAndAdd(operator, adder, executor());
+    }
+
+    public IntMonad applyAsyncAndAdd(IntUnaryOperator operator, LongAdder adder, Executor executor) {
+        return async("applyAsyncAndAdd", operator, () -> adder.add(operator.applyAsInt(value)), executor);
+    }
+
+    public IntMonad applyAsyncAndConsume(IntUnaryOperator operator, IntConsumer consumer) {
+        return applyAsyncAndConsume(operator, consumer, executor());
+    }
+
+    public IntMonad applyAsyncAndConsume(IntUnaryOperator operator, IntConsumer consumer, Executor executor) {
+        return async("applyAsyncAndConsume", operator, () -> consumer.accept(operator.applyAsInt(value)), executor);
+    }
+
+    public IntMonad applyAsyncAndWaitOther(IntConsumer consumer) {
+        return applyAsyncAndWaitOther(consumer, executor());
+    }
+
+    public IntMonad applyAsyncAndWaitOther(IntConsumer consumer, Executor executor) {
+        return asyncAndWaitOther("applyAsyncAndWaitOther", consumer, () -> consumer.accept(value), executor);
+    }
+
+    public IntMonad applyAsyncWaitOtherAndStore(IntUnaryOperator operator, AtomicInteger atomicInteger) {
+        return applyAsyncWaitOtherAndStore(operator, atomicInteger, executor());
+    }
+
+    public IntMonad applyAsyncWaitOtherAndStore(IntUnaryOperator operator, AtomicInteger atomicInteger, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndStore", operator, () -> atomicInteger.set(operator.applyAsInt(value)), executor);
+    }
+
+    public IntMonad applyAsyncWaitOtherAndAdd(IntUnaryOperator operator, LongAdder adder) {
+        return applyAsyncWaitOtherAndAdd(operator, adder, executor());
+    }
+
+    public IntMonad applyAsyncWaitOtherAndAdd(IntUnaryOperator operator, LongAdder adder, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndAdd", operator, () -> adder.add(operator.applyAsInt(value)), executor);
+    }
+
+    public IntMonad applyAsyncWaitOtherAndConsume(IntUnaryOperator operator, IntConsumer consumer) {
+        return applyAsyncWaitOtherAndConsume(operator, consumer, executor());
+    }
+
+    public IntMonad applyAsyncWaitOtherAndConsume(IntUnaryOperator operator, IntConsumer consumer, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndConsume", operator, () -> consumer.accept(operator.applyAsInt(value)), executor);
+    }
+
+    public IntMonad mutable(IntUnaryOperator operator) {
+        if (empty)
+            return Objects.isNull(chain) ? EMPTY : this;
+        return new IntMonad(operator.applyAsInt(value), false, chain);
+    }
+
+    public IntMonad mutableIfEmpty(IntSupplier supplier) {
+        return empty ? new IntMonad(supplier.getAsInt(), false, chain) : this;
+    }
+
+    public LongMonad mutableToLong(IntToLongFunction function) {
+        return empty ?
+                LongMonad.empty(chain)
+                : new LongMonad(function.applyAsLong(value), false, chain);
+    }
+
+    public DoubleMonad mutableToDouble(IntToDoubleFunction function) {
+        return empty ?
+                DoubleMonad.empty(chain)
+                : new DoubleMonad(function.applyAsDouble(value), false, chain);
+    }
+
+    public <M> Monad<M, Integer> mutableToObj(IntFunction<M> function) {
+        return Monad.of(empty ? null : function.apply(value), chain);
+    }
+
+    public int orElse(int other) {
+        return empty ? other : value;
+    }
+
+    /**
+     * @throws NoSuchElementException when the monad is empty
+     */
+    public int unwrap() {
+        await();
+        complete();
+        return value;
+    }
+
+    /**
+     * @throws DeadlineExceededException when timeout or deadline of the chain has passed
+     * @throws NoSuchElementException    when the monad is empty
+     */
+    public int unwrap(Duration timeout) {
+        await(timeout);
+        complete();
+        return value;
+    }
+
+}
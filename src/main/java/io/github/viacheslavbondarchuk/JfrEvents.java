@@ -0,0 +1,151 @@
+package io.github.viacheslavbondarchuk;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 7:05 PM
+ * date: 10/16/2026
+ * <p>
+ * Event classes behind {@link MonadEvents}, the only classes of the library linked against jdk.jfr.
+ * Shared instances are never committed, they only tell whether an event type is enabled
+ **/
+
+final class JfrEvents {
+    private static final String CATEGORY = "Monad";
+    private static final StageSubmitted SUBMITTED = new StageSubmitted();
+    private static final StageCompleted COMPLETED = new StageCompleted();
+    private static final BarrierWait WAIT = new BarrierWait();
+    private static final StageFailed FAILED = new StageFailed();
+
+    private JfrEvents() {
+    }
+
+    static boolean recording() {
+        return COMPLETED.isEnabled() || SUBMITTED.isEnabled();
+    }
+
+    static void submitted(Chain chain, String stage) {
+        if (SUBMITTED.isEnabled()) {
+            StageSubmitted event = new StageSubmitted();
+            event.chainId = MonadEvents.chainId(chain);
+            event.stage = stage;
+            event.commit();
+        }
+    }
+
+    static void failed(Chain chain, Throwable ex) {
+        if (FAILED.isEnabled()) {
+            StageFailed event = new StageFailed();
+            Throwable cause = ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+            event.chainId = MonadEvents.chainId(chain);
+            event.exceptionClass = cause.getClass();
+            event.message = cause.getMessage();
+            event.commit();
+        }
+    }
+
+    static MonadEvents.StageSpan stage() {
+        if (!COMPLETED.isEnabled())
+            return MonadEvents.StageSpan.NONE;
+        StageCompleted event = new StageCompleted();
+        event.begin();
+        return event;
+    }
+
+    static MonadEvents.WaitSpan barrier() {
+        if (!WAIT.isEnabled())
+            return MonadEvents.WaitSpan.NONE;
+        BarrierWait event = new BarrierWait();
+        event.begin();
+        return event;
+    }
+
+    @Name("io.github.viacheslavbondarchuk.StageSubmitted")
+    @Label("Monad Stage Submitted")
+    @Category(CATEGORY)
+    @Enabled(false)
+    @StackTrace(false)
+    static final class StageSubmitted extends Event {
+        @Label("Chain Id")
+        long chainId;
+        @Label("Stage")
+        String stage;
+    }
+
+    @Name("io.github.viacheslavbondarchuk.StageCompleted")
+    @Label("Monad Stage Completed")
+    @Description("Run of an async stage, from start on the executor until its dependents completed")
+    @Category(CATEGORY)
+    @Threshold("10 ms")
+    @StackTrace(false)
+    static final class StageCompleted extends Event implements MonadEvents.StageSpan {
+        @Label("Chain Id")
+        long chainId;
+        @Label("Stage")
+        String stage;
+        @Label("Failed")
+        boolean failed;
+
+        @Override
+        public void finish(Chain chain, String stage, boolean failed) {
+            end();
+            if (shouldCommit()) {
+                this.chainId = MonadEvents.chainId(chain);
+                this.stage = stage;
+                this.failed = failed;
+                commit();
+            }
+        }
+    }
+
+    @Name("io.github.viacheslavbondarchuk.BarrierWait")
+    @Label("Monad Barrier Wait")
+    @Description("Thread blocked in unwrap or await until wait-other stages of the chain completed")
+    @Category(CATEGORY)
+    @Threshold("10 ms")
+    static final class BarrierWait extends Event implements MonadEvents.WaitSpan {
+        @Label("Chain Id")
+        long chainId;
+        @Label("Parties")
+        @Description("Wait-other stages outstanding when the wait started")
+        long parties;
+        @Label("Timed Out")
+        boolean timedOut;
+
+        @Override
+        public void finish(Chain chain, long parties, boolean timedOut) {
+            end();
+            if (shouldCommit()) {
+                this.chainId = MonadEvents.chainId(chain);
+                this.parties = parties;
+                this.timedOut = timedOut;
+                commit();
+            }
+        }
+    }
+
+    @Name("io.github.viacheslavbondarchuk.StageFailed")
+    @Label("Monad Stage Failed")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class StageFailed extends Event {
+        @Label("Chain Id")
+        long chainId;
+        @Label("Exception Class")
+        Class<?> exceptionClass;
+        @Label("Message")
+        String message;
+    }
+
+}
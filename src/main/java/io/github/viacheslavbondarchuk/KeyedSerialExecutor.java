@@ -0,0 +1,87 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 2:40 AM
+ * date: 10/17/2026
+ * <p>
+ * {@link SerialExecutor} per key over one executor, tasks of one key run in submission order and tasks of
+ * different keys run in parallel. Serial queue of a key is dropped once it has nothing left to run
+ **/
+
+public final class KeyedSerialExecutor<K> {
+    private final Executor executor;
+    private final ConcurrentMap<K, Serial> serials = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor runs the tasks, CompletableFuture default pool when null
+     */
+    public KeyedSerialExecutor(Executor executor) {
+        this.executor = Stage.executorOrDefault(executor);
+    }
+
+    /**
+     * Executor for async stages of one key, e.g. for {@link Monad#wrapAsync(Object, Executor)}
+     */
+    public Executor forKey(K key) {
+        Objects.requireNonNull(key);
+        return task -> execute(key, task);
+    }
+
+    public void execute(K key, Runnable task) {
+        Objects.requireNonNull(task);
+        Serial serial = serials.compute(key, (k, current) -> {
+            Serial acquired = Objects.isNull(current) ? new Serial(new SerialExecutor(executor)) : current;
+            acquired.pending++;
+            return acquired;
+        });
+        try {
+            serial.executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    release(key);
+                }
+            }, executor, ex -> {
+                try {
+                    SerialExecutor.reject(task, ex);
+                } finally {
+                    release(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            release(key);
+            throw ex;
+        }
+    }
+
+    /**
+     * Keys with tasks queued or running
+     */
+    public int size() {
+        return serials.size();
+    }
+
+    private void release(K key) {
+        serials.computeIfPresent(key, (k, current) -> --current.pending == 0 ? null : current);
+    }
+
+    /**
+     * Pending is changed only inside compute of the key
+     */
+    private static final class Serial {
+        private final SerialExecutor executor;
+        private int pending;
+
+        private Serial(SerialExecutor executor) {
+            this.executor = executor;
+        }
+    }
+
+}
@@ -0,0 +1,247 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 3:20 PM
+ * date: 10/16/2026
+ * <p>
+ * Records the chain and runs nothing until {@link #unwrap()}, see {@link Monad#lazy(Object)}.
+ * Consecutive sync stages are fused into one pass without intermediate monads, adjacent async stages of
+ * the same kind are merged into a single task, stages which can't run for the wrapped value are dropped
+ * while the chain is built. It is a builder, every call returns the same instance, don't branch it
+ **/
+
+@SuppressWarnings("unchecked")
+public class LazyMonad<T> {
+    private final Object value;
+    private final AsyncContext context;
+    private final List<Node> nodes = new ArrayList<>();
+
+    private Known known;
+    private int asyncNodes;
+
+    LazyMonad(Object value, AsyncContext context) {
+        this.value = value;
+        this.context = context;
+        this.known = Objects.isNull(value) ? Known.NULL : Known.VALUE;
+    }
+
+    public <M> LazyMonad<M> mutable(Function<T, M> function) {
+        if (known != Known.NULL) {
+            sync(current -> Objects.isNull(current) ? null : function.apply((T) current));
+            known = Known.UNKNOWN;
+        }
+        return (LazyMonad<M>) this;
+    }
+
+    /**
+     * Same as {@link Monad#mutableIfNull(Supplier)}, the value is replaced whether it is null or not
+     */
+    public <M> LazyMonad<M> mutableIfNull(Supplier<M> supplier) {
+        sync(current -> supplier.get());
+        known = Known.UNKNOWN;
+        return (LazyMonad<M>) this;
+    }
+
+    public LazyMonad<T> apply(Consumer<T> consumer) {
+        if (known != Known.NULL) {
+            sync(current -> {
+                if (Objects.nonNull(current))
+                    consumer.accept((T) current);
+                return current;
+            });
+        }
+        return this;
+    }
+
+    public LazyMonad<T> apply(Monad.Operation operation) {
+        if (known != Known.NULL) {
+            sync(current -> {
+                if (Objects.nonNull(current))
+                    operation.apply();
+                return current;
+            });
+        }
+        return this;
+    }
+
+    public <R> LazyMonad<T> applyAndConsume(Function<T, R> function, Consumer<R> consumer) {
+        if (known != Known.NULL) {
+            sync(current -> {
+                if (Objects.nonNull(current))
+                    consumer.accept(function.apply((T) current));
+                return current;
+            });
+        }
+        return this;
+    }
+
+    public LazyMonad<T> applyIfNull(Monad.Operation operation) {
+        if (known != Known.VALUE) {
+            sync(current -> {
+                if (Objects.isNull(current))
+                    operation.apply();
+                return current;
+            });
+        }
+        return this;
+    }
+
+    public LazyMonad<T> applyAsync(Consumer<T> consumer) {
+        if (known != Known.NULL)
+            async(false, consumer, current -> consumer.accept((T) current));
+        return this;
+    }
+
+    public LazyMonad<T> applyAsyncAndWaitOther(Consumer<T> consumer) {
+        if (known != Known.NULL)
+            async(true, consumer, current -> consumer.accept((T) current));
+        return this;
+    }
+
+    public LazyMonad<T> applyAsyncAndWaitOther(Monad.Operation operation) {
+        if (known != Known.NULL)
+            async(true, operation, current -> operation.apply());
+        return this;
+    }
+
+    public <R> LazyMonad<T> applyAsyncWaitOtherAndConsume(Function<T, R> function, Consumer<R> consumer) {
+        if (known != Known.NULL)
+            async(true, function, current -> consumer.accept(function.apply((T) current)));
+        return this;
+    }
+
+    public <R> LazyMonad<T> applyAsyncWaitOtherAndStore(Function<T, R> function, AtomicReference<R> atomicReference) {
+        if (known != Known.NULL)
+            async(true, function, current -> atomicReference.set(function.apply((T) current)));
+        return this;
+    }
+
+    public T unwrap() {
+        if (asyncNodes == 0)
+            return (T) run(null);
+        Chain chain = new Chain(context);
+        Object result = run(chain);
+        chain.await(chain.remaining(), chain.timeout());
+        chain.complete();
+        return (T) result;
+    }
+
+    /**
+     * @throws DeadlineExceededException when timeout or deadline of the chain has passed
+     */
+    public T unwrap(Duration timeout) {
+        if (asyncNodes == 0)
+            return (T) run(null);
+        Chain chain = new Chain(context);
+        Object result = run(chain);
+        chain.await(Math.min(timeout.toNanos(), chain.remaining()), timeout);
+        chain.complete();
+        return (T) result;
+    }
+
+    /**
+     * Number of tasks and fused passes the chain runs as, nodes dropped at build time aren't counted
+     */
+    int size() {
+        return nodes.size();
+    }
+
+    private Object run(Chain chain) {
+        Object current = value;
+        for (Node node : nodes) {
+            if (node instanceof SyncNode)
+                current = ((SyncNode) node).run(current);
+            else if (Objects.nonNull(current))
+                ((AsyncNode) node).submit(current, chain);
+        }
+        return current;
+    }
+
+    private void sync(UnaryOperator<Object> step) {
+        Node last = nodes.isEmpty() ? null : nodes.get(nodes.size() - 1);
+        if (last instanceof SyncNode) {
+            ((SyncNode) last).steps.add(step);
+        } else {
+            SyncNode node = new SyncNode();
+            node.steps.add(step);
+            nodes.add(node);
+        }
+    }
+
+    /**
+     * @param lambda function passed to the lazy monad, the first one of a node is its call site on adaptive chains
+     */
+    private void async(boolean waitOther, Object lambda, Consumer<Object> action) {
+        Node last = nodes.isEmpty() ? null : nodes.get(nodes.size() - 1);
+        if (last instanceof AsyncNode && ((AsyncNode) last).waitOther == waitOther) {
+            ((AsyncNode) last).actions.add(action);
+        } else {
+            AsyncNode node = new AsyncNode(waitOther, lambda);
+            node.actions.add(action);
+            nodes.add(node);
+            asyncNodes++;
+        }
+    }
+
+    private enum Known {
+        NULL, VALUE, UNKNOWN
+    }
+
+    private interface Node {
+    }
+
+    private static final class SyncNode implements Node {
+        private final List<UnaryOperator<Object>> steps = new ArrayList<>();
+
+        private Object run(Object value) {
+            Object current = value;
+            for (UnaryOperator<Object> step : steps)
+                current = step.apply(current);
+            return current;
+        }
+    }
+
+    private static final class AsyncNode implements Node {
+        private final boolean waitOther;
+        private final Object lambda;
+        private final List<Consumer<Object>> actions = new ArrayList<>();
+
+        private AsyncNode(boolean waitOther, Object lambda) {
+            this.waitOther = waitOther;
+            this.lambda = lambda;
+        }
+
+        private void submit(Object value, Chain chain) {
+            String name = waitOther ? "applyAsyncAndWaitOther" : "applyAsync";
+            CompletableFuture<?> future = chain.supplyAsync(name, lambda, () -> {
+                for (Consumer<Object> action : actions) {
+                    if (chain.isCancelled())
+                        break;
+                    try {
+                        action.accept(value);
+                    } catch (Throwable ex) {
+                        // as a stage of its own would, the failure doesn't skip the rest of the fused actions
+                        if (!chain.fail(ex))
+                            ErrorHandlers.handle(chain, name, ex);
+                    }
+                }
+                return null;
+            }, chain.executor()).handle((result, ex) -> ErrorHandlers.recover(chain, name, result, ex));
+            if (waitOther)
+                Chain.track(chain, future);
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 5:10 PM
+ * date: 10/16/2026
+ * <p>
+ * {@link Monad} specialized for long. Stages take primitive functions and store into atomic or adder sinks,
+ * so no step of the chain boxes. Empty monad is flagged instead of holding null
+ **/
+
+public class LongMonad extends PrimitiveMonad<LongMonad> {
+    private static final LongMonad EMPTY = new LongMonad(0L, true, null);
+
+    private final long value;
+
+    LongMonad(long value, boolean empty, Chain chain) {
+        super(empty, chain);
+        this.value = value;
+    }
+
+    public static LongMonad empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Empty result of a conversion, shared for sync monads
+     */
+    static LongMonad empty(Chain chain) {
+        return Objects.isNull(chain) ? EMPTY : new LongMonad(0L, true, chain);
+    }
+
+    public static LongMonad emptyAsync() {
+        return new LongMonad(0L, true, new Chain(AsyncContext.DEFAULT));
+    }
+
+    public static LongMonad wrap(long value) {
+        return new LongMonad(value, false, null);
+    }
+
+    public static LongMonad wrapAsync(long value) {
+        return new LongMonad(value, false, new Chain(AsyncContext.DEFAULT));
+    }
+
+    public static LongMonad wrapAsync(long value, Executor executor) {
+        return new LongMonad(value, false, new Chain(AsyncContext.of(executor)));
+    }
+
+    public static LongMonad wrapAsync(long value, AsyncContext context) {
+        Objects.requireNonNull(context);
+        return new LongMonad(value, false, new Chain(context));
+    }
+
+    public LongMonad apply(LongConsumer consumer) {
+        if (!empty)
+            consumer.accept(value);
+        return this;
+    }
+
+    public LongMonad applyAndStore(LongUnaryOperator operator, AtomicLong atomicLong) {
+        if (!empty)
+            atomicLong.set(operator.applyAsLong(value));
+        return this;
+    }
+
+    public LongMonad applyAndAdd(LongUnaryOperator operator, LongAdder adder) {
+        if (!empty)
+            adder.add(operator.applyAsLong(value));
+        return this;
+    }
+
+    public LongMonad applyAndConsume(LongUnaryOperator operator, LongConsumer consumer) {
+        if (!empty)
+            consumer.accept(operator.applyAsLong(value));
+        return this;
+    }
+
+    public LongMonad applyAsync(LongConsumer consumer) {
+        return applyAsync(consumer, executor());
+    }
+
+    public LongMonad applyAsync(LongConsumer consumer, Executor executor) {
+        return async("applyAsync", consumer, () -> consumer.accept(value), executor);
+    }
+
+    public LongMonad applyAsyncAndStore(LongUnaryOperator operator, AtomicLong atomicLong) {
+        return applyAsyncAndStore(operator, atomicLong, executor());
+    }
+
+    public LongMonad applyAsyncAndStore(LongUnaryOperator operator, AtomicLong atomicLong, Executor executor) {
+        return async("applyAsyncAndStore", operator, () -> atomicLong.set(operator.applyAsLong(value)), executor);
+    }
+
+    public LongMonad applyAsyncAndAdd(LongUnaryOperator operator, LongAdder adder) {
+        return applyAsyncAndAdd(operator, adder, executor());
+    }
+
+    public LongMonad applyAsyncAndAdd(LongUnaryOperator operator, LongAdder adder, Executor executor) {
+        return async("applyAsyncAndAdd", operator, () -> adder.add(operator.applyAsLong(value)), executor);
+    }
+
+    public LongMonad applyAsyncAndConsume(LongUnaryOperator operator, LongConsumer consumer) {
+        return applyAsyncAndConsume(operator, consumer, executor());
+    }
+
+    public LongMonad applyAsyncAndConsume(LongUnaryOperator operator, LongConsumer consumer, Executor executor) {
+        return async("applyAsyncAndConsume", operator, () -> consumer.accept(operator.applyAsLong(value)), executor);
+    }
+
+    public LongMonad applyAsyncAndWaitOther(LongConsumer consumer) {
+        return applyAsyncAndWaitOther(consumer, executor());
+    }
+
+    public LongMonad applyAsyncAndWaitOther(LongConsumer consumer, Executor executor) {
+        return asyncAndWaitOther("applyAsyncAndWaitOther", consumer, () -> consumer.accept(value), executor);
+    }
+
+    public LongMonad applyAsyncWaitOtherAndStore(LongUnaryOperator operator, AtomicLong atomicLong) {
+        return applyAsyncWaitOtherAndStore(operator, atomicLong, executor());
+    }
+
+    public LongMonad applyAsyncWaitOtherAndStore(LongUnaryOperator operator, AtomicLong atomicLong, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndStore", operator, () -> atomicLong.set(operator.applyAsLong(value)), executor);
+    }
+
+    public LongMonad applyAsyncWaitOtherAndAdd(LongUnaryOperator operator, LongAdder adder) {
+        return applyAsyncWaitOtherAndAdd(operator, adder, executor());
+    }
+
+    public LongMonad applyAsyncWaitOtherAndAdd(LongUnaryOperator operator, LongAdder adder, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndAdd", operator, () -> adder.add(operator.applyAsLong(value)), executor);
+    }
+
+    public LongMonad applyAsyncWaitOtherAndConsume(LongUnaryOperator operator, LongConsumer consumer) {
+        return applyAsyncWaitOtherAndConsume(operator, consumer, executor());
+    }
+
+    public LongMonad applyAsyncWaitOtherAndConsume(LongUnaryOperator operator, LongConsumer consumer, Executor executor) {
+        return asyncAndWaitOther("applyAsyncWaitOtherAndConsume", operator, () -> consumer.accept(operator.applyAsLong(value)), executor);
+    }
+
+    public LongMonad mutable(LongUnaryOperator operator) {
+        if (empty)
+            return Objects.isNull(chain) ? EMPTY : this;
+        return new LongMonad(operator.applyAsLong(value), false, chain);
+    }
+
+    public LongMonad mutableIfEmpty(LongSupplier supplier) {
+        return empty ? new LongMonad(supplier.getAsLong(), false, chain) : this;
+    }
+
+    public IntMonad mutableToInt(LongToIntFunction function) {
+        return empty ?
+                IntMonad.empty(chain)
+                : new IntMonad(function.applyAsInt(value), false, chain);
+    }
+
+    public DoubleMonad mutableToDouble(LongToDoubleFunction function) {
+        return empty ?
+                DoubleMonad.empty(chain)
+                : new DoubleMonad(function.applyAsDouble(value), false, chain);
+    }
+
+    public <M> Monad<M, Long> mutableToObj(LongFunction<M> function) {
+        return Monad.of(empty ? null : function.apply(value), chain);
+    }
+
+    public long orElse(long other) {
+        return empty ? other : value;
+    }
+
+    /**
+     * @throws NoSuchElementException when the monad is empty
+     */
+    public long unwrap() {
+        await();
+        complete();
+        return value;
+    }
+
+    /**
+     * @throws DeadlineExceededException when timeout or deadline of the chain has passed
+     * @throws NoSuchElementException    when the monad is empty
+     */
+    public long unwrap(Duration timeout) {
+        await(timeout);
+        complete();
+        return value;
+    }
+
+}
@@ -0,0 +1,52 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 6:08 PM
+ * date: 10/16/2026
+ * <p>
+ * Holder of the installed {@link MonadMetrics}, a volatile read is all a stage pays when none is installed
+ **/
+
+final class Metrics {
+    private static volatile MonadMetrics current;
+
+    private Metrics() {
+    }
+
+    static MonadMetrics current() {
+        return current;
+    }
+
+    static boolean enabled() {
+        return Objects.nonNull(current);
+    }
+
+    static void install(MonadMetrics metrics) {
+        current = metrics;
+    }
+
+    static <V, R> R measure(String stage, Function<V, R> function, V value, Chain chain) {
+        MonadMetrics metrics = current;
+        long started = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return function.apply(value);
+        } catch (RuntimeException | Error ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            if (Objects.nonNull(metrics))
+                metrics.onStage(stage, 0L, System.nanoTime() - started, failure, Objects.isNull(chain) ? 0L : chain.pending());
+        }
+    }
+
+    static <R> R measure(String stage, Supplier<R> supplier, Chain chain) {
+        return measure(stage, ignored -> supplier.get(), null, chain);
+    }
+
+}
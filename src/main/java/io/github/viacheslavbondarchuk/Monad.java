@@ -1,15 +1,25 @@
 package io.github.viacheslavbondarchuk;
 
-import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Phaser;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * author: viacheslavbondarchuk
@@ -18,35 +28,54 @@ import java.util.function.Supplier;
  **/
 
 @Slf4j
-@EqualsAndHashCode
 @SuppressWarnings("unchecked")
 public class Monad<T, P> {
-    private final Phaser phaser;
+    private static final Monad<?, ?> EMPTY = new Monad<>(null, null, HistoryPolicy.full(), null);
+    private static final Monad<?, ?> EMPTY_WITHOUT_HISTORY = new Monad<>(null, null, HistoryPolicy.none(), null);
+
+    private final Chain chain;
+    private final HistoryPolicy history;
     private final T value;
 
     private Monad<T, P> previous;
+    private WeakReference<Monad<T, P>> weakPrevious;
+    /**
+     * Strong links behind a monad kept by {@link HistoryPolicy#last(int)}
+     */
+    private int length;
+    /**
+     * Rollbacks left under {@link HistoryPolicy#last(int)}, -1 when not limited
+     */
+    private int rollbacks = -1;
 
     private Monad(Monad<T, P> monad) {
-        this.value = Objects.nonNull(monad) ? monad.value : null;
-        this.phaser = Objects.nonNull(monad) ? monad.phaser : null;
-        this.previous = Objects.nonNull(monad) ? monad.previous : null;
+        this.value = monad.value;
+        this.chain = monad.chain;
+        this.history = monad.history;
+        this.previous = monad.previous;
+        this.weakPrevious = monad.weakPrevious;
+        this.length = monad.length;
+        this.rollbacks = monad.rollbacks;
     }
 
     private Monad(T value, Monad<T, P> previous) {
-        this.value = value;
-        this.phaser = null;
-        this.previous = previous;
+        this(value, null, HistoryPolicy.full(), previous);
+    }
+
+    private Monad(T value, Chain chain, Monad<T, P> previous) {
+        this(value, chain, HistoryPolicy.full(), previous);
     }
 
-    private Monad(T value, Phaser phaser, Monad<T, P> previous) {
+    private Monad(T value, Chain chain, HistoryPolicy history, Monad<T, P> previous) {
         this.value = value;
-        this.phaser = phaser;
-        this.previous = previous;
+        this.chain = chain;
+        this.history = history;
+        if (Objects.nonNull(previous))
+            link(previous);
     }
 
-    private Monad() {
-        this.value = null;
-        this.phaser = null;
+    static <T, P> Monad<T, P> of(T value, Chain chain) {
+        return new Monad<>(value, chain, null);
     }
 
     public static <T, P> Monad<T, P> empty() {
@@ -64,21 +93,100 @@ public class Monad<T, P> {
 
     public static <T, P> Monad<T, P> wrapAsync(T value) {
         Objects.requireNonNull(value);
-        Phaser phaser = new Phaser();
-        phaser.register();
-        return new Monad<>(value, phaser, null);
+        return new Monad<>(value, new Chain(AsyncContext.DEFAULT), null);
+    }
+
+    /**
+     * Async stages of the chain run on the given executor instead of {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     */
+    public static <T, P> Monad<T, P> wrapAsync(T value, Executor executor) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(executor);
+        return new Monad<>(value, new Chain(AsyncContext.of(executor)), null);
+    }
+
+    public static <T, P> Monad<T, P> wrapAsync(T value, AsyncContext context) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(context);
+        return new Monad<>(value, new Chain(context), null);
     }
 
     public static <T, P> Monad<T, P> wrapOfNullable(T value) {
-        return Objects.isNull(value) ? new Monad<>() : new Monad<>(value, null);
+        return Objects.isNull(value) ? (Monad<T, P>) EMPTY : new Monad<>(value, null);
     }
 
     public static <T, P> Monad<T, P> wrapAsyncOfNullable(T value) {
-        Phaser phaser = new Phaser();
-        phaser.register();
         return Objects.isNull(value) ?
-                new Monad<>(null, phaser, null)
-                : new Monad<>(value, phaser, null);
+                new Monad<>(null, new Chain(AsyncContext.DEFAULT), null)
+                : new Monad<>(value, new Chain(AsyncContext.DEFAULT), null);
+    }
+
+    public static <T, P> Monad<T, P> wrapAsyncOfNullable(T value, Executor executor) {
+        Objects.requireNonNull(executor);
+        return Objects.isNull(value) ?
+                new Monad<>(null, new Chain(AsyncContext.of(executor)), null)
+                : new Monad<>(value, new Chain(AsyncContext.of(executor)), null);
+    }
+
+    public static <T, P> Monad<T, P> wrapAsyncOfNullable(T value, AsyncContext context) {
+        Objects.requireNonNull(context);
+        return Objects.isNull(value) ?
+                new Monad<>(null, new Chain(context), null)
+                : new Monad<>(value, new Chain(context), null);
+    }
+
+    /**
+     * One monad over the whole batch instead of a monad per element, stages run in chunks on the common pool
+     */
+    public static <T> BulkMonad<T> wrapAll(Collection<T> values) {
+        return wrapAll(values, ForkJoinPool.commonPool());
+    }
+
+    public static <T> BulkMonad<T> wrapAll(Collection<T> values, ForkJoinPool pool) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(pool);
+        return new BulkMonad<>(values.toArray(), pool);
+    }
+
+    /**
+     * Nothing runs until {@link LazyMonad#unwrap()}, sync stages are fused and adjacent async stages share a task
+     */
+    public static <T> LazyMonad<T> lazy(T value) {
+        Objects.requireNonNull(value);
+        return new LazyMonad<>(value, AsyncContext.DEFAULT);
+    }
+
+    public static <T> LazyMonad<T> lazy(T value, AsyncContext context) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(context);
+        return new LazyMonad<>(value, context);
+    }
+
+    public static <T> LazyMonad<T> lazyOfNullable(T value) {
+        return new LazyMonad<>(value, AsyncContext.DEFAULT);
+    }
+
+    public static <T> LazyMonad<T> lazyOfNullable(T value, AsyncContext context) {
+        Objects.requireNonNull(context);
+        return new LazyMonad<>(value, context);
+    }
+
+    /**
+     * Every item of the publisher goes through the pipeline on its own async chain, unwrapped values are published
+     * in the order of items. Demand of the subscriber is propagated upstream
+     */
+    public static <T, R> Flow.Publisher<R> wrapPublisher(Flow.Publisher<T> publisher,
+                                                         Function<? super Monad<T, ?>, ? extends Monad<R, ?>> pipeline) {
+        return wrapPublisher(publisher, pipeline, AsyncContext.DEFAULT, Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param prefetch max number of items requested upstream and not yet published
+     */
+    public static <T, R> Flow.Publisher<R> wrapPublisher(Flow.Publisher<T> publisher,
+                                                         Function<? super Monad<T, ?>, ? extends Monad<R, ?>> pipeline,
+                                                         AsyncContext context, int prefetch) {
+        return new MonadPublisher<>(publisher, pipeline, context, prefetch);
     }
 
     public Monad<T, P> apply(Consumer<T> consumer) {
@@ -122,151 +230,314 @@ public class Monad<T, P> {
     }
 
     public <R> Monad<T, P> applyAsyncAndStore(Function<T, R> function, AtomicReference<R> atomicReference) {
+        return applyAsyncAndStore(function, atomicReference, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncAndStore(Function<T, R> function, AtomicReference<R> atomicReference, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.supplyAsync(() -> function.apply(value))
-                    .handle(this::handleException)
+            supplyAsync("applyAsyncAndStore", function, () -> function.apply(value), executor)
+                    .handle(handleException("applyAsyncAndStore"))
                     .thenAccept(atomicReference::set);
         }
         return this;
     }
 
     public <R> Monad<T, P> applyBothAsyncAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference) {
-        CompletableFuture.supplyAsync(() -> supplier.get())
-                .handle(this::handleException)
+        return applyBothAsyncAndStore(supplier, atomicReference, executor());
+    }
+
+    public <R> Monad<T, P> applyBothAsyncAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference, Executor executor) {
+        supplyAsync("applyBothAsyncAndStore", supplier, () -> supplier.get(), executor)
+                .handle(handleException("applyBothAsyncAndStore"))
                 .thenAccept(atomicReference::set);
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncAndConsume(Function<T, R> function, Consumer<R> consumer) {
+        return applyAsyncAndConsume(function, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncAndConsume(Function<T, R> function, Consumer<R> consumer, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.supplyAsync(() -> function.apply(value))
-                    .handle(this::handleException)
+            supplyAsync("applyAsyncAndConsume", function, () -> function.apply(value), executor)
+                    .handle(handleException("applyAsyncAndConsume"))
                     .thenAccept(consumer);
         }
         return this;
     }
 
     public <R> Monad<T, P> applyBothAsyncAndConsume(Supplier<R> supplier, Consumer<R> consumer) {
-        CompletableFuture.supplyAsync(supplier)
-                .handle(this::handleException)
+        return applyBothAsyncAndConsume(supplier, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyBothAsyncAndConsume(Supplier<R> supplier, Consumer<R> consumer, Executor executor) {
+        supplyAsync("applyBothAsyncAndConsume", supplier, supplier, executor)
+                .handle(handleException("applyBothAsyncAndConsume"))
                 .thenAccept(consumer);
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncAndConsume(Supplier<R> supplier, Consumer<R> consumer) {
+        return applyAsyncAndConsume(supplier, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncAndConsume(Supplier<R> supplier, Consumer<R> consumer, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.supplyAsync(supplier)
-                    .handle(this::handleException)
+            supplyAsync("applyAsyncAndConsume", supplier, supplier, executor)
+                    .handle(handleException("applyAsyncAndConsume"))
                     .thenAccept(consumer);
         }
         return this;
     }
 
     public Monad<T, P> applyAsync(Operation operation) {
+        return applyAsync(operation, executor());
+    }
+
+    public Monad<T, P> applyAsync(Operation operation, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.runAsync(operation::apply)
-                    .handle(this::handleException);
+            runAsync("applyAsync", operation, operation::apply, executor)
+                    .handle(handleException("applyAsync"));
         }
         return this;
     }
 
     public Monad<T, P> applyBothAsync(Operation operation) {
-        CompletableFuture.runAsync(operation::apply)
-                .handle(this::handleException);
+        return applyBothAsync(operation, executor());
+    }
+
+    public Monad<T, P> applyBothAsync(Operation operation, Executor executor) {
+        runAsync("applyBothAsync", operation, operation::apply, executor)
+                .handle(handleException("applyBothAsync"));
         return this;
     }
 
     public Monad<T, P> applyAsyncAndWaitOther(Operation operation) {
+        return applyAsyncAndWaitOther(operation, executor());
+    }
+
+    public Monad<T, P> applyAsyncAndWaitOther(Operation operation, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.runAsync(() -> {
-                        phaser.register();
-                        operation.apply();
-                    }).handle(this::handleException)
-                    .thenRun(this::deregister);
+            waitOther(runAsync("applyAsyncAndWaitOther", operation, operation::apply, executor)
+                    .handle(handleException("applyAsyncAndWaitOther")));
         }
         return this;
     }
 
     public Monad<T, P> applyBothAsyncAndWaitOther(Operation operation) {
-        CompletableFuture.runAsync(() -> {
-                    phaser.register();
-                    operation.apply();
-                }).handle(this::handleException)
-                .thenRun(this::deregister);
+        return applyBothAsyncAndWaitOther(operation, executor());
+    }
+
+    public Monad<T, P> applyBothAsyncAndWaitOther(Operation operation, Executor executor) {
+        waitOther(runAsync("applyBothAsyncAndWaitOther", operation, operation::apply, executor)
+                .handle(handleException("applyBothAsyncAndWaitOther")));
         return this;
     }
 
     public Monad<T, P> applyAsync(Consumer<T> consumer) {
+        return applyAsync(consumer, executor());
+    }
+
+    public Monad<T, P> applyAsync(Consumer<T> consumer, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.runAsync(() -> consumer.accept(value))
-                    .handle(this::handleException);
+            runAsync("applyAsync", consumer, () -> consumer.accept(value), executor)
+                    .handle(handleException("applyAsync"));
         }
         return this;
     }
 
     public Monad<T, P> applyAsyncAndWaitOther(Consumer<T> consumer) {
+        return applyAsyncAndWaitOther(consumer, executor());
+    }
+
+    public Monad<T, P> applyAsyncAndWaitOther(Consumer<T> consumer, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.runAsync(() -> {
-                        phaser.register();
-                        consumer.accept(value);
-                    }).handle(this::handleException)
-                    .thenRun(this::deregister);
+            waitOther(runAsync("applyAsyncAndWaitOther", consumer, () -> consumer.accept(value), executor)
+                    .handle(handleException("applyAsyncAndWaitOther")));
         }
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncWaitOtherAndStore(Function<T, R> function, AtomicReference<R> atomicReference) {
+        return applyAsyncWaitOtherAndStore(function, atomicReference, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherAndStore(Function<T, R> function, AtomicReference<R> atomicReference, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.supplyAsync(() -> {
-                        phaser.register();
-                        return function.apply(value);
-                    }).handle(this::handleException)
-                    .thenAccept(atomicReference::set)
-                    .thenRun(this::deregister);
+            waitOther(supplyAsync("applyAsyncWaitOtherAndStore", function, () -> function.apply(value), executor)
+                    .handle(handleException("applyAsyncWaitOtherAndStore"))
+                    .thenAccept(atomicReference::set));
         }
         return this;
     }
 
     public <R> Monad<T, P> applyBothAsyncWaitOtherAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference) {
-        CompletableFuture.supplyAsync(() -> {
-                    phaser.register();
-                    return supplier.get();
-                }).handle(this::handleException)
-                .thenAccept(atomicReference::set)
-                .thenRun(this::deregister);
+        return applyBothAsyncWaitOtherAndStore(supplier, atomicReference, executor());
+    }
+
+    public <R> Monad<T, P> applyBothAsyncWaitOtherAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference, Executor executor) {
+        waitOther(supplyAsync("applyBothAsyncWaitOtherAndStore", supplier, supplier, executor)
+                .handle(handleException("applyBothAsyncWaitOtherAndStore"))
+                .thenAccept(atomicReference::set));
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncWaitOtherAndConsume(Function<T, R> function, Consumer<R> consumer) {
+        return applyAsyncWaitOtherAndConsume(function, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherAndConsume(Function<T, R> function, Consumer<R> consumer, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.supplyAsync(() -> {
-                        phaser.register();
-                        return function.apply(value);
-                    }).handle(this::handleException)
-                    .thenAccept(consumer)
-                    .thenRun(this::deregister);
+            waitOther(supplyAsync("applyAsyncWaitOtherAndConsume", function, () -> function.apply(value), executor)
+                    .handle(handleException("applyAsyncWaitOtherAndConsume"))
+                    .thenAccept(consumer));
         }
         return this;
     }
 
     public <R> Monad<T, P> applyBothAsyncWaitOtherAndConsume(Supplier<R> supplier, Consumer<R> consumer) {
-        CompletableFuture.supplyAsync(() -> {
-                    phaser.register();
-                    return supplier.get();
-                }).handle(this::handleException)
-                .thenAccept(consumer)
-                .thenRun(this::deregister);
+        return applyBothAsyncWaitOtherAndConsume(supplier, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyBothAsyncWaitOtherAndConsume(Supplier<R> supplier, Consumer<R> consumer, Executor executor) {
+        waitOther(supplyAsync("applyBothAsyncWaitOtherAndConsume", supplier, supplier, executor)
+                .handle(handleException("applyBothAsyncWaitOtherAndConsume"))
+                .thenAccept(consumer));
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncWaitOtherAndConsume(Supplier<R> supplier, Consumer<R> consumer) {
+        return applyAsyncWaitOtherAndConsume(supplier, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherAndConsume(Supplier<R> supplier, Consumer<R> consumer, Executor executor) {
         if (Objects.nonNull(value)) {
-            CompletableFuture.supplyAsync(() -> {
-                        phaser.register();
-                        return supplier.get();
-                    }).handle(this::handleException)
-                    .thenAccept(consumer)
-                    .thenRun(this::deregister);
+            waitOther(supplyAsync("applyAsyncWaitOtherAndConsume", supplier, supplier, executor)
+                    .handle(handleException("applyAsyncWaitOtherAndConsume"))
+                    .thenAccept(consumer));
+        }
+        return this;
+    }
+
+    /**
+     * Result of the stage completes the future, so it can be composed without blocking.
+     * Future is completed with null when the monad is empty
+     */
+    public <R> Monad<T, P> applyAsyncAndComplete(Function<T, R> function, CompletableFuture<R> future) {
+        return applyAsyncAndComplete(function, future, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncAndComplete(Function<T, R> function, CompletableFuture<R> future, Executor executor) {
+        if (Objects.isNull(value)) {
+            future.complete(null);
+            return this;
+        }
+        supplyAsync("applyAsyncAndComplete", function, () -> function.apply(value), executor)
+                .whenComplete(completing(future))
+                .handle(handleException("applyAsyncAndComplete"));
+        return this;
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherAndComplete(Function<T, R> function, CompletableFuture<R> future) {
+        return applyAsyncWaitOtherAndComplete(function, future, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherAndComplete(Function<T, R> function, CompletableFuture<R> future, Executor executor) {
+        if (Objects.isNull(value)) {
+            future.complete(null);
+            return this;
+        }
+        waitOther(supplyAsync("applyAsyncWaitOtherAndComplete", function, () -> function.apply(value), executor)
+                .whenComplete(completing(future))
+                .handle(handleException("applyAsyncWaitOtherAndComplete")));
+        return this;
+    }
+
+    /**
+     * Result of the function is memoized by value, concurrent chains of the same value share one computation.
+     * On a hit consumer runs on the calling thread
+     */
+    public <R> Monad<T, P> applyAsyncCachedAndConsume(Function<T, R> function, MonadCache<T, R> cache, Consumer<R> consumer) {
+        return applyAsyncCachedAndConsume(function, cache, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncCachedAndConsume(Function<T, R> function, MonadCache<T, R> cache, Consumer<R> consumer, Executor executor) {
+        if (Objects.nonNull(value)) {
+            cache.load(value, key -> supplyAsync("applyAsyncCachedAndConsume", function, () -> function.apply(key), executor))
+                    .handle(handleException("applyAsyncCachedAndConsume"))
+                    .thenAccept(consumer);
+        }
+        return this;
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherCachedAndConsume(Function<T, R> function, MonadCache<T, R> cache, Consumer<R> consumer) {
+        return applyAsyncWaitOtherCachedAndConsume(function, cache, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherCachedAndConsume(Function<T, R> function, MonadCache<T, R> cache, Consumer<R> consumer, Executor executor) {
+        if (Objects.nonNull(value)) {
+            waitOther(cache.load(value, key -> supplyAsync("applyAsyncWaitOtherCachedAndConsume", function, () -> function.apply(key), executor))
+                    .handle(handleException("applyAsyncWaitOtherCachedAndConsume"))
+                    .thenAccept(consumer));
+        }
+        return this;
+    }
+
+    /**
+     * Function must be idempotent, a second attempt starts when the first one is slower than the hedge delay
+     */
+    public <R> Monad<T, P> applyAsyncHedgedAndStore(Function<T, R> function, AtomicReference<R> atomicReference, HedgePolicy policy) {
+        return applyAsyncHedgedAndStore(function, atomicReference, policy, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncHedgedAndStore(Function<T, R> function, AtomicReference<R> atomicReference, HedgePolicy policy, Executor executor) {
+        if (Objects.nonNull(value)) {
+            policy.hedge(chain, () -> Stage.attempt(chain, "applyAsyncHedgedAndStore", function, () -> function.apply(value), executor), executor)
+                    .handle(handleException("applyAsyncHedgedAndStore"))
+                    .thenAccept(atomicReference::set);
+        }
+        return this;
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherHedgedAndConsume(Function<T, R> function, Consumer<R> consumer, HedgePolicy policy) {
+        return applyAsyncWaitOtherHedgedAndConsume(function, consumer, policy, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherHedgedAndConsume(Function<T, R> function, Consumer<R> consumer, HedgePolicy policy, Executor executor) {
+        if (Objects.nonNull(value)) {
+            waitOther(policy.hedge(chain, () -> Stage.attempt(chain, "applyAsyncWaitOtherHedgedAndConsume", function, () -> function.apply(value), executor), executor)
+                    .handle(handleException("applyAsyncWaitOtherHedgedAndConsume"))
+                    .thenAccept(consumer));
+        }
+        return this;
+    }
+
+    /**
+     * Both functions run in parallel, merger starts the moment both complete without waiting for other stages
+     */
+    public <A, B, R> Monad<T, P> applyAsyncWaitOtherZipAndConsume(Function<T, A> first, Function<T, B> second,
+                                                                  BiFunction<A, B, R> merger, Consumer<R> consumer) {
+        return applyAsyncWaitOtherZipAndConsume(first, second, merger, consumer, executor());
+    }
+
+    public <A, B, R> Monad<T, P> applyAsyncWaitOtherZipAndConsume(Function<T, A> first, Function<T, B> second,
+                                                                  BiFunction<A, B, R> merger, Consumer<R> consumer, Executor executor) {
+        return applyAsyncWaitOtherGraphAndConsume(graph -> graph.stage(graph.stage(first), graph.stage(second), merger), consumer, executor);
+    }
+
+    public <R> Monad<T, P> applyAsyncWaitOtherGraphAndConsume(Function<StageGraph<T>, StageGraph.Node<R>> definition, Consumer<R> consumer) {
+        return applyAsyncWaitOtherGraphAndConsume(definition, consumer, executor());
+    }
+
+    /**
+     * @param executor runs the stages of the graph
+     */
+    public <R> Monad<T, P> applyAsyncWaitOtherGraphAndConsume(Function<StageGraph<T>, StageGraph.Node<R>> definition, Consumer<R> consumer, Executor executor) {
+        if (Objects.nonNull(value)) {
+            waitOther(definition.apply(new StageGraph<>(chain, "applyAsyncWaitOtherGraphAndConsume", value, executor))
+                    .future()
+                    .handle(handleException("applyAsyncWaitOtherGraphAndConsume"))
+                    .thenAccept(consumer));
         }
         return this;
     }
@@ -290,102 +561,205 @@ public class Monad<T, P> {
     }
 
     public Monad<T, P> applyAsyncIfNull(Operation operation) {
+        return applyAsyncIfNull(operation, executor());
+    }
+
+    public Monad<T, P> applyAsyncIfNull(Operation operation, Executor executor) {
         if (Objects.isNull(value)) {
-            CompletableFuture.runAsync(operation::apply)
-                    .handle(this::handleException);
+            runAsync("applyAsyncIfNull", operation, operation::apply, executor)
+                    .handle(handleException("applyAsyncIfNull"));
         }
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncIfNullAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference) {
+        return applyAsyncIfNullAndStore(supplier, atomicReference, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncIfNullAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference, Executor executor) {
         if (Objects.isNull(value))
-            CompletableFuture.supplyAsync(supplier)
-                    .handle(this::handleException)
+            supplyAsync("applyAsyncIfNullAndStore", supplier, supplier, executor)
+                    .handle(handleException("applyAsyncIfNullAndStore"))
                     .thenAccept(atomicReference::set);
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncIfNullAndConsume(Supplier<R> supplier, Consumer<R> consumer) {
+        return applyAsyncIfNullAndConsume(supplier, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncIfNullAndConsume(Supplier<R> supplier, Consumer<R> consumer, Executor executor) {
         if (Objects.isNull(value)) {
-            CompletableFuture.supplyAsync(supplier)
-                    .handle(this::handleException)
+            supplyAsync("applyAsyncIfNullAndConsume", supplier, supplier, executor)
+                    .handle(handleException("applyAsyncIfNullAndConsume"))
                     .thenAccept(consumer);
         }
         return this;
     }
 
     public Monad<T, P> applyAsyncIfNull(Consumer<T> consumer) {
+        return applyAsyncIfNull(consumer, executor());
+    }
+
+    public Monad<T, P> applyAsyncIfNull(Consumer<T> consumer, Executor executor) {
         if (Objects.isNull(value)) {
-            CompletableFuture.runAsync(() -> consumer.accept(value))
-                    .handle(this::handleException);
+            runAsync("applyAsyncIfNull", consumer, () -> consumer.accept(value), executor)
+                    .handle(handleException("applyAsyncIfNull"));
         }
         return this;
     }
 
     public Monad<T, P> applyAsyncIfNullAndWaitOther(Consumer<T> consumer) {
+        return applyAsyncIfNullAndWaitOther(consumer, executor());
+    }
+
+    public Monad<T, P> applyAsyncIfNullAndWaitOther(Consumer<T> consumer, Executor executor) {
         if (Objects.isNull(value)) {
-            CompletableFuture.runAsync(() -> {
-                        phaser.register();
-                        consumer.accept(value);
-                    }).handle(this::handleException)
-                    .thenRun(this::deregister);
+            waitOther(runAsync("applyAsyncIfNullAndWaitOther", consumer, () -> consumer.accept(value), executor)
+                    .handle(handleException("applyAsyncIfNullAndWaitOther")));
         }
         return this;
     }
 
     public Monad<T, P> applyAsyncIfNullAndWaitOther(Operation operation) {
+        return applyAsyncIfNullAndWaitOther(operation, executor());
+    }
+
+    public Monad<T, P> applyAsyncIfNullAndWaitOther(Operation operation, Executor executor) {
         if (Objects.isNull(value)) {
-            CompletableFuture.runAsync(() -> {
-                        phaser.register();
-                        operation.apply();
-                    }).handle(this::handleException)
-                    .thenRun(this::deregister);
+            waitOther(runAsync("applyAsyncIfNullAndWaitOther", operation, operation::apply, executor)
+                    .handle(handleException("applyAsyncIfNullAndWaitOther")));
         }
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncIfNullWaitOtherAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference) {
+        return applyAsyncIfNullWaitOtherAndStore(supplier, atomicReference, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncIfNullWaitOtherAndStore(Supplier<R> supplier, AtomicReference<R> atomicReference, Executor executor) {
         if (Objects.isNull(value)) {
-            CompletableFuture.supplyAsync(() -> {
-                        phaser.register();
-                        return supplier.get();
-                    }).handle(this::handleException)
-                    .thenAccept(atomicReference::set)
-                    .thenRun(this::deregister);
+            waitOther(supplyAsync("applyAsyncIfNullWaitOtherAndStore", supplier, supplier, executor)
+                    .handle(handleException("applyAsyncIfNullWaitOtherAndStore"))
+                    .thenAccept(atomicReference::set));
         }
         return this;
     }
 
     public <R> Monad<T, P> applyAsyncIfNullWaitOtherAndConsume(Supplier<R> supplier, Consumer<R> consumer) {
+        return applyAsyncIfNullWaitOtherAndConsume(supplier, consumer, executor());
+    }
+
+    public <R> Monad<T, P> applyAsyncIfNullWaitOtherAndConsume(Supplier<R> supplier, Consumer<R> consumer, Executor executor) {
         if (Objects.isNull(value)) {
-            CompletableFuture.supplyAsync(() -> {
-                        phaser.register();
-                        return supplier.get();
-                    }).handle(this::handleException)
-                    .thenAccept(consumer)
-                    .thenRun(this::deregister);
+            waitOther(supplyAsync("applyAsyncIfNullWaitOtherAndConsume", supplier, supplier, executor)
+                    .handle(handleException("applyAsyncIfNullWaitOtherAndConsume"))
+                    .thenAccept(consumer));
         }
         return this;
     }
 
     public <M> Monad<M, T> mutable(Function<T, M> function) {
-        if (Objects.isNull(phaser) && Objects.isNull(value)) {
-            return new Monad<M, T>(null, (Monad<M, T>) this);
+        if (Objects.isNull(value)) {
+            return emptyAfter();
         }
-        if (Objects.nonNull(phaser) && Objects.isNull(value)) {
-            return new Monad<M, T>(null, phaser, (Monad<M, T>) this);
+        M mutated = Metrics.enabled() ?
+                Metrics.measure("mutable", function, value, chain)
+                : function.apply(value);
+        return new Monad<M, T>(mutated, chain, history, (Monad<M, T>) this);
+    }
+
+    /**
+     * Same as {@link #mutable(Function)} but result of the function is memoized by value
+     */
+    public <M> Monad<M, T> mutableCached(Function<T, M> function, MonadCache<T, M> cache) {
+        if (Objects.isNull(value)) {
+            return emptyAfter();
         }
-        if (Objects.isNull(phaser) && Objects.nonNull(value)) {
-            return new Monad<M, T>(function.apply(value), (Monad<M, T>) this);
+        M mutated = Metrics.enabled() ?
+                Metrics.measure("mutableCached", key -> cache.get(key, function), value, chain)
+                : cache.get(value, function);
+        return new Monad<M, T>(mutated, chain, history, (Monad<M, T>) this);
+    }
+
+    /**
+     * Both functions run in parallel as async stages, waits for them and the merger only, not for the whole chain
+     */
+    public <A, B, M> Monad<M, T> zipAsync(Function<T, A> first, Function<T, B> second, BiFunction<A, B, M> merger) {
+        return zipAsync(first, second, merger, executor());
+    }
+
+    public <A, B, M> Monad<M, T> zipAsync(Function<T, A> first, Function<T, B> second, BiFunction<A, B, M> merger, Executor executor) {
+        return graph(graph -> graph.stage(graph.stage(first), graph.stage(second), merger), executor);
+    }
+
+    public <M> Monad<M, T> graph(Function<StageGraph<T>, StageGraph.Node<M>> definition) {
+        return graph(definition, executor());
+    }
+
+    /**
+     * Runs the stage graph defined over the value and waits for its output node only
+     *
+     * @param executor runs the stages of the graph
+     * @throws RuntimeException cancellation of the chain, e.g. {@link DeadlineExceededException},
+     *                          or the failure thrown by the error handler
+     */
+    public <M> Monad<M, T> graph(Function<StageGraph<T>, StageGraph.Node<M>> definition, Executor executor) {
+        if (Objects.isNull(value)) {
+            return emptyAfter();
+        }
+        CompletableFuture<M> output = definition.apply(new StageGraph<>(chain, "graph", value, executor)).future();
+        M mutated;
+        try {
+            mutated = output.handle(handleException("graph")).join();
+        } catch (CompletionException ex) {
+            if (Objects.nonNull(chain) && chain.isCancelled())
+                throw chain.cancellation();
+            // error handler failed, its failure goes to the caller as is
+            if (ex.getCause() instanceof Error)
+                throw (Error) ex.getCause();
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
         }
-        return new Monad<M, T>(function.apply(value), phaser, (Monad<M, T>) this);
+        return new Monad<M, T>(mutated, chain, history, (Monad<M, T>) this);
     }
 
     public <M> Monad<M, T> mutableIfNull(Supplier<M> supplier) {
-        return Objects.isNull(phaser) ?
-                new Monad<M, T>(supplier.get(), (Monad<M, T>) this)
-                : new Monad<M, T>(supplier.get(), phaser, (Monad<M, T>) this);
+        M mutated = Metrics.enabled() ?
+                Metrics.measure("mutableIfNull", supplier, chain)
+                : supplier.get();
+        return new Monad<M, T>(mutated, chain, history, (Monad<M, T>) this);
+    }
 
+    public IntMonad mutableToInt(ToIntFunction<T> function) {
+        return Objects.isNull(value) ?
+                IntMonad.empty(chain)
+                : new IntMonad(function.applyAsInt(value), false, chain);
+    }
+
+    public LongMonad mutableToLong(ToLongFunction<T> function) {
+        return Objects.isNull(value) ?
+                LongMonad.empty(chain)
+                : new LongMonad(function.applyAsLong(value), false, chain);
+    }
+
+    public DoubleMonad mutableToDouble(ToDoubleFunction<T> function) {
+        return Objects.isNull(value) ?
+                DoubleMonad.empty(chain)
+                : new DoubleMonad(function.applyAsDouble(value), false, chain);
+    }
+
+    /**
+     * Same value under another policy, which applies to the returned monad and the steps made from it.
+     * The link to the current previous monad is kept by {@link HistoryPolicy#full()}, dropped by
+     * {@link HistoryPolicy#none()}, made weak by {@link HistoryPolicy#weak()} and cut after depth monads by
+     * {@link HistoryPolicy#last(int)}. This monad and its history are left as they are
+     */
+    public Monad<T, P> history(HistoryPolicy history) {
+        Objects.requireNonNull(history);
+        Monad<T, P> previous = previous();
+        if (Objects.isNull(value) && (Objects.isNull(previous) || history == HistoryPolicy.none()))
+            return empty(chain, history);
+        return new Monad<>(value, chain, history, previous);
     }
 
     public <R extends T> T orElse(R result) {
@@ -403,17 +777,29 @@ public class Monad<T, P> {
 
     /**
      * Don`value use this method in the end of monad chain, use {@link #unwrap()} method
+     *
+     * @throws DeadlineExceededException when deadline of the chain has passed
      */
     public Monad<T, P> await() {
-        if (Objects.nonNull(phaser) && phaser.getRegisteredParties() > 0) {
-            phaser.arriveAndAwaitAdvance();
-        }
+        if (Objects.nonNull(chain))
+            chain.await(chain.remaining(), chain.timeout());
+        return this;
+    }
+
+    /**
+     * Same as {@link #await()} but waits no longer than timeout, stages of the chain are cancelled when it elapses
+     *
+     * @throws DeadlineExceededException when timeout or deadline of the chain has passed
+     */
+    public Monad<T, P> await(Duration timeout) {
+        if (Objects.nonNull(chain))
+            chain.await(Math.min(timeout.toNanos(), chain.remaining()), timeout);
         return this;
     }
 
     public Monad<T, P> printPhase() {
-        if (log.isDebugEnabled() && Objects.nonNull(phaser))
-            log.debug("Current phase of barrier: {}", phaser.getPhase());
+        if (log.isDebugEnabled() && Objects.nonNull(chain))
+            log.debug("Parties outstanding on barrier: {}", Objects.isNull(tracker()) ? 0 : tracker().pending());
         return this;
     }
 
@@ -421,39 +807,224 @@ public class Monad<T, P> {
         return this;
     }
 
-    private void deregister() {
-        if (log.isDebugEnabled())
-            log.debug("Thread: {}, did arrive and deregister", Thread.currentThread().getName());
-        phaser.arriveAndDeregister();
+    private <R> CompletableFuture<R> supplyAsync(String stage, Object lambda, Supplier<R> supplier, Executor executor) {
+        return Stage.supply(chain, stage, lambda, supplier, executor);
     }
 
-    private <V, X extends Throwable> V handleException(V value, X ex) {
-        if (Objects.nonNull(ex))
-            log.error(ex.getMessage(), ex);
-        return value;
+    private CompletableFuture<Void> runAsync(String stage, Object lambda, Runnable runnable, Executor executor) {
+        return Stage.runAsync(chain, stage, lambda, runnable, executor);
+    }
+
+    private Monad<T, P> previous() {
+        if (rollbacks == 0)
+            return null;
+        if (Objects.nonNull(previous))
+            return previous;
+        return Objects.isNull(weakPrevious) ? null : weakPrevious.get();
+    }
+
+    private void link(Monad<T, P> previous) {
+        switch (history.getKind()) {
+            case NONE:
+                break;
+            case WEAK:
+                this.weakPrevious = new WeakReference<>(previous);
+                break;
+            case LAST:
+                keep(previous, history.getDepth());
+                break;
+            default:
+                this.previous = previous;
+        }
+    }
+
+    /**
+     * Links to depth monads starting at previous, so older ones become collectable. Previous monads may be
+     * shared with other branches and are never cut. Kept tail of a LAST chain is shared until it grows twice
+     * the depth, then depth monads are copied without the link past them, so a step costs O(1) amortized
+     */
+    private void keep(Monad<T, P> previous, int depth) {
+        this.rollbacks = depth;
+        if (previous.history.getKind() == HistoryPolicy.Kind.LAST && previous.length + 1L <= 2L * depth) {
+            this.previous = previous;
+            this.length = previous.length + 1;
+            return;
+        }
+        Monad<?, ?> last = previous;
+        int kept = 1;
+        for (; kept < depth && !isEnd(last); kept++)
+            last = last.previous;
+        this.length = kept;
+        if (isEnd(last)) {
+            this.previous = previous;
+            return;
+        }
+        Monad<?, ?>[] monads = new Monad<?, ?>[depth];
+        Monad<?, ?> monad = previous;
+        for (int i = 0; i < depth; i++, monad = monad.previous)
+            monads[i] = monad;
+        Monad<?, ?> copy = null;
+        for (int i = depth - 1; i >= 0; i--)
+            copy = ((Monad<Object, Object>) monads[i]).withPrevious((Monad<Object, Object>) copy);
+        this.previous = (Monad<T, P>) copy;
+    }
+
+    /**
+     * Rolled back monad links to itself
+     */
+    private static boolean isEnd(Monad<?, ?> monad) {
+        return Objects.isNull(monad.previous) || monad.previous == monad;
+    }
+
+    /**
+     * Copy linked to another previous monad, the weak link of this monad isn't kept
+     */
+    private Monad<T, P> withPrevious(Monad<T, P> previous) {
+        Monad<T, P> copy = new Monad<>(this);
+        copy.previous = previous;
+        copy.weakPrevious = null;
+        copy.length = Objects.isNull(previous) ? 0 : previous.length + 1;
+        return copy;
+    }
+
+    /**
+     * Sync empties without history are all alike, so they are shared. Shared monads are never written to
+     */
+    private static <T, P> Monad<T, P> empty(Chain chain, HistoryPolicy history) {
+        if (Objects.isNull(chain)) {
+            if (history == HistoryPolicy.full())
+                return (Monad<T, P>) EMPTY;
+            if (history == HistoryPolicy.none())
+                return (Monad<T, P>) EMPTY_WITHOUT_HISTORY;
+        }
+        return new Monad<>(null, chain, history, null);
+    }
+
+    /**
+     * Empty result of a step, linked to this monad unless the step keeps no history
+     */
+    private <M> Monad<M, T> emptyAfter() {
+        if (Objects.isNull(chain) && history == HistoryPolicy.none())
+            return (Monad<M, T>) EMPTY_WITHOUT_HISTORY;
+        return new Monad<M, T>(null, chain, history, (Monad<M, T>) this);
+    }
+
+    private boolean isShared() {
+        return this == EMPTY || this == EMPTY_WITHOUT_HISTORY;
+    }
+
+    private Executor executor() {
+        return Objects.isNull(chain) ? null : chain.executor();
+    }
+
+    private CompletionTracker tracker() {
+        return Objects.isNull(chain) ? null : chain.trackerIfPresent();
+    }
+
+    /**
+     * Stage is registered on the barrier before this method returns, not when it starts running
+     */
+    private void waitOther(CompletableFuture<?> future) {
+        Chain.track(chain, future);
+    }
+
+    /**
+     * Failure of the stage goes to the error handler under the name of the stage
+     */
+    private <V> BiFunction<V, Throwable, V> handleException(String stage) {
+        return (value, ex) -> ErrorHandlers.recover(chain, stage, value, ex);
     }
 
     public Monad<P, T> rollback() {
-        Monad<P, T> monad = (Monad<P, T>) new Monad<>(previous);
-        this.previous = this;
+        Monad<T, P> previous = previous();
+        Monad<P, T> monad = Objects.nonNull(previous) ?
+                (Monad<P, T>) new Monad<>(previous)
+                : empty(chain, history);
+        if (Objects.nonNull(previous) && rollbacks > 0)
+            monad.rollbacks = rollbacks - 1;
+        if (!isShared())
+            this.previous = this;
         return monad;
     }
 
     public <M> Monad<M, T> rollbackAndMutable(Function<P, M> function) {
+        Monad<T, P> previous = previous();
         if (Objects.isNull(previous) || Objects.nonNull(previous) && Objects.isNull(previous.value)) {
-            return new Monad<M, T>(null, phaser, (Monad<M, T>) this);
+            return emptyAfter();
         }
-        return new Monad<M, T>(function.apply((P) previous.value), phaser, (Monad<M, T>) this);
+        M mutated = Metrics.enabled() ?
+                Metrics.measure("rollbackAndMutable", function, (P) previous.value, chain)
+                : function.apply((P) previous.value);
+        return new Monad<M, T>(mutated, chain, history, (Monad<M, T>) this);
     }
 
     public T unwrap() {
-        if (Objects.nonNull(phaser) && phaser.getRegisteredParties() > 0) {
-            phaser.arriveAndAwaitAdvance();
-            phaser.forceTermination();
-        }
+        await();
+        if (Objects.nonNull(chain))
+            chain.complete();
         return value;
     }
 
+    /**
+     * @throws DeadlineExceededException when timeout or deadline of the chain has passed
+     */
+    public T unwrap(Duration timeout) {
+        await(timeout);
+        if (Objects.nonNull(chain))
+            chain.complete();
+        return value;
+    }
+
+    /**
+     * Non-blocking {@link #unwrap()}, completes with the value once wait-other stages of the chain are done
+     * or exceptionally with {@link DeadlineExceededException} when deadline of the chain has passed
+     */
+    public CompletableFuture<T> unwrapAsync() {
+        if (Objects.isNull(chain))
+            return CompletableFuture.completedFuture(value);
+        return chain.awaitAsync(null).thenApply(ignored -> complete());
+    }
+
+    /**
+     * Same as {@link #unwrapAsync()} but stages of the chain are cancelled when timeout elapses
+     */
+    public CompletableFuture<T> unwrapAsync(Duration timeout) {
+        if (Objects.isNull(chain))
+            return CompletableFuture.completedFuture(value);
+        return chain.awaitAsync(timeout).thenApply(ignored -> complete());
+    }
+
+    private T complete() {
+        chain.complete();
+        return value;
+    }
+
+    private static <R> BiConsumer<R, Throwable> completing(CompletableFuture<R> future) {
+        return (result, ex) -> {
+            if (Objects.isNull(ex))
+                future.complete(result);
+            else
+                future.completeExceptionally(ex);
+        };
+    }
+
+    /**
+     * Monads are equal by value only, chain and history are not compared
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (Objects.isNull(o) || getClass() != o.getClass())
+            return false;
+        return Objects.equals(value, ((Monad<?, ?>) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value);
+    }
+
     @FunctionalInterface
     public interface Operation {
         void apply();
@@ -0,0 +1,188 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 9:05 PM
+ * date: 10/16/2026
+ * <p>
+ * Bounded cache of stage results keyed by the wrapped value. Concurrent callers of the same key share
+ * one in-flight computation, failed computations are not cached. Entries are evicted roughly in insertion order
+ * when size is exceeded and lazily when time to live since completion has passed
+ **/
+
+public final class MonadCache<K, V> {
+    private final long maximumSize;
+    private final long maximumQueued;
+    private final long ttlNanos;
+    private final ConcurrentMap<K, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry<K, V>> order = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queued = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private MonadCache(long maximumSize, Duration ttl) {
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("maximumSize must be positive");
+        this.maximumSize = maximumSize;
+        this.maximumQueued = Math.min(maximumSize, Long.MAX_VALUE / 2) * 2;
+        this.ttlNanos = Objects.isNull(ttl) ? Long.MAX_VALUE : ttl.toNanos();
+    }
+
+    public static <K, V> MonadCache<K, V> of(long maximumSize) {
+        return new MonadCache<>(maximumSize, null);
+    }
+
+    public static <K, V> MonadCache<K, V> of(long maximumSize, Duration ttl) {
+        return new MonadCache<>(maximumSize, Objects.requireNonNull(ttl));
+    }
+
+    /**
+     * Computes on the calling thread on a miss, waits for the computation of another caller when it is in flight
+     */
+    public V get(K key, Function<? super K, ? extends V> function) {
+        try {
+            return load(key, k -> CompletableFuture.completedFuture(function.apply(k))).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof Error)
+                throw (Error) ex.getCause();
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+        }
+    }
+
+    /**
+     * @param loader starts computation of a missing key, its future is shared by concurrent callers of the key.
+     *               When the chain which started it is cancelled, waiters from other chains start it again
+     */
+    CompletableFuture<V> load(K key, Function<? super K, ? extends CompletableFuture<V>> loader) {
+        Entry<K, V> entry = entries.get(key);
+        if (Objects.nonNull(entry) && entry.isExpired(System.nanoTime())) {
+            if (entries.remove(key, entry))
+                evictions.increment();
+            entry = null;
+        }
+        if (Objects.nonNull(entry)) {
+            hits.increment();
+            return await(entry.future, key, loader);
+        }
+        Entry<K, V> created = new Entry<>(key);
+        Entry<K, V> raced = entries.putIfAbsent(key, created);
+        if (Objects.nonNull(raced)) {
+            hits.increment();
+            return await(raced.future, key, loader);
+        }
+        misses.increment();
+        order.add(created);
+        queued.incrementAndGet();
+        evict();
+
+        CompletableFuture<V> loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (Throwable ex) {
+            loaded = CompletableFuture.failedFuture(ex);
+        }
+        loaded.whenComplete((value, ex) -> {
+            if (Objects.isNull(ex)) {
+                created.expiresAt = ttlNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+                created.future.complete(value);
+                // size may have been exceeded while the entry was in flight
+                evict();
+            } else {
+                entries.remove(key, created);
+                created.future.completeExceptionally(ex);
+            }
+        });
+        return created.future;
+    }
+
+    /**
+     * Cancellation belongs to the chain which started the computation, a waiter computes the key itself instead
+     */
+    private CompletableFuture<V> await(CompletableFuture<V> shared, K key, Function<? super K, ? extends CompletableFuture<V>> loader) {
+        if (shared.isDone() && !shared.isCompletedExceptionally())
+            return shared;
+        return shared.handle((value, ex) -> {
+            if (Objects.isNull(ex))
+                return CompletableFuture.completedFuture(value);
+            if (ex instanceof CancellationException || ex.getCause() instanceof CancellationException)
+                return load(key, loader);
+            return CompletableFuture.<V>failedFuture(ex);
+        }).thenCompose(Function.identity());
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long size() {
+        return entries.size();
+    }
+
+    /**
+     * Order queue may hold entries already removed by expiry or failure, they are dropped once it grows twice the size.
+     * Entries in flight are skipped, so concurrent callers of their keys keep sharing the computation, the size
+     * may exceed the maximum until they complete. Queue is passed at most once per call
+     */
+    private void evict() {
+        for (long turns = queued.get(); turns > 0 && (entries.size() > maximumSize || queued.get() > maximumQueued); turns--) {
+            Entry<K, V> oldest = order.poll();
+            if (Objects.isNull(oldest))
+                return;
+            queued.decrementAndGet();
+            if (entries.get(oldest.key) != oldest)
+                continue;
+            if (entries.size() > maximumSize && oldest.future.isDone()) {
+                if (entries.remove(oldest.key, oldest))
+                    evictions.increment();
+            } else {
+                order.add(oldest);
+                queued.incrementAndGet();
+            }
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(K key) {
+            this.key = key;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+
+}
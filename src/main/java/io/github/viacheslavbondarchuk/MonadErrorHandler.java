@@ -0,0 +1,36 @@
+package io.github.viacheslavbondarchuk;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 12:20 AM
+ * date: 10/17/2026
+ * <p>
+ * Receives failures of monad stages instead of a log.error per exception. Called on the thread of the failed stage,
+ * so implementations must be thread safe and must not block. Per chain handler is set by
+ * the {@code errorHandler} of {@link AsyncContext}, {@link AggregatingErrorHandler} is the default
+ **/
+
+@FunctionalInterface
+public interface MonadErrorHandler {
+
+    void onError(Throwable ex);
+
+    /**
+     * @param stage name of the failed stage, e.g. applyAsync, null when the failure doesn't belong to one
+     */
+    default void onError(String stage, Throwable ex) {
+        onError(ex);
+    }
+
+    /**
+     * Handler of chains without their own one and of sync monads
+     */
+    static void install(MonadErrorHandler handler) {
+        ErrorHandlers.install(handler);
+    }
+
+    static void uninstall() {
+        ErrorHandlers.install(null);
+    }
+
+}
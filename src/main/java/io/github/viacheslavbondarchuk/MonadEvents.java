@@ -0,0 +1,71 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 7:05 PM
+ * date: 10/16/2026
+ * <p>
+ * JFR events of async stages, all carry the id of the chain started by wrapAsync, 0 for sync monads.
+ * Submissions are disabled by default, completions and barrier waits are recorded above 10 ms.
+ * Events are defined in {@link JfrEvents}, which is only loaded when the runtime has the jdk.jfr module,
+ * on images without it every method here does nothing
+ **/
+
+final class MonadEvents {
+    private static final boolean SUPPORTED = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private MonadEvents() {
+    }
+
+    static long chainId(Chain chain) {
+        return Objects.isNull(chain) ? 0L : chain.id();
+    }
+
+    /**
+     * Async stages of sync monads are only tracked when a stage event is recorded
+     */
+    static boolean recording() {
+        return SUPPORTED && JfrEvents.recording();
+    }
+
+    static void submitted(Chain chain, String stage) {
+        if (SUPPORTED)
+            JfrEvents.submitted(chain, stage);
+    }
+
+    static void failed(Chain chain, Throwable ex) {
+        if (SUPPORTED)
+            JfrEvents.failed(chain, ex);
+    }
+
+    /**
+     * Started when the stage starts running, nothing is allocated unless the event is recorded
+     */
+    static StageSpan stage() {
+        return SUPPORTED ? JfrEvents.stage() : StageSpan.NONE;
+    }
+
+    /**
+     * Started when a thread starts waiting for wait-other stages of the chain
+     */
+    static WaitSpan barrier() {
+        return SUPPORTED ? JfrEvents.barrier() : WaitSpan.NONE;
+    }
+
+    interface StageSpan {
+        StageSpan NONE = (chain, stage, failed) -> {
+        };
+
+        void finish(Chain chain, String stage, boolean failed);
+    }
+
+    interface WaitSpan {
+        WaitSpan NONE = (chain, parties, timedOut) -> {
+        };
+
+        void finish(Chain chain, long parties, boolean timedOut);
+    }
+
+}
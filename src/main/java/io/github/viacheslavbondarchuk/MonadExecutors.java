@@ -0,0 +1,37 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.concurrent.Executor;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 10:12 AM
+ * date: 10/16/2026
+ * <p>
+ * Executors for {@link Monad#wrapAsync(Object, Executor)}.
+ * This is the Java 11 baseline, the Java 21 layer of the multi-release jar replaces it
+ **/
+
+public final class MonadExecutors {
+
+    private MonadExecutors() {
+    }
+
+    /**
+     * @return false before Java 21, {@link #virtualThreads()} throws then
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return false;
+    }
+
+    /**
+     * Shared executor which starts a new virtual thread per async stage, available on Java 21+.
+     * There is no silent fallback to platform threads, callers which must run on older runtimes check
+     * {@link #isVirtualThreadsSupported()} and pick an executor of their own
+     *
+     * @throws UnsupportedOperationException always on this baseline, the runtime is older than Java 21
+     */
+    public static Executor virtualThreads() {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or newer, running on " + Runtime.version());
+    }
+
+}
@@ -0,0 +1,39 @@
+package io.github.viacheslavbondarchuk;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 6:05 PM
+ * date: 10/16/2026
+ * <p>
+ * Listener of monad stages, nothing is measured while no listener is installed.
+ * Called on the thread which ran the stage, so implementations must be thread safe and cheap
+ **/
+
+public interface MonadMetrics {
+
+    /**
+     * @param stage      method which created the stage, e.g. applyAsync, applyAsyncAndWaitOther, mutable
+     * @param queueNanos time from submission to start, 0 for sync stages
+     * @param runNanos   time the stage was running
+     * @param failure    exception of the stage, null when it succeeded
+     * @param parties    wait-other stages outstanding on the barrier of the chain
+     */
+    void onStage(String stage, long queueNanos, long runNanos, Throwable failure, long parties);
+
+    /**
+     * Decision of an adaptive chain, see the {@code inlineThreshold} of {@link AsyncContext}
+     *
+     * @param inline true when the stage runs on the submitting thread, false when it goes to the executor
+     */
+    default void onDispatch(String stage, boolean inline) {
+    }
+
+    static void install(MonadMetrics metrics) {
+        Metrics.install(metrics);
+    }
+
+    static void uninstall() {
+        Metrics.install(null);
+    }
+
+}
@@ -0,0 +1,295 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 1:25 AM
+ * date: 10/17/2026
+ * <p>
+ * Assembly line of monad stages for streams of values. Every stage has its own bounded queue and workers,
+ * workers take and hand off values in batches, so many values are in flight across stages at once.
+ * Empty results are dropped, failures go to the installed {@link MonadErrorHandler} and the value is dropped.
+ * Submitting blocks while the first queue is full. When every worker of a stage died the pipeline fails and
+ * submitting throws
+ **/
+
+public final class MonadPipeline<T> implements AutoCloseable {
+    private static final AtomicReferenceFieldUpdater<MonadPipeline, Throwable> FAILURE =
+            AtomicReferenceFieldUpdater.newUpdater(MonadPipeline.class, Throwable.class, "failure");
+
+    private final List<Worker> stages;
+    private final BatchQueue<Object> input;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile boolean shutdown;
+    private volatile Throwable failure;
+
+    private MonadPipeline(List<Spec> specs, int batchSize, ThreadFactory threadFactory) {
+        List<Worker> stages = new ArrayList<>(specs.size());
+        for (Spec spec : specs)
+            stages.add(new Worker(spec, batchSize));
+        for (int i = 0; i < stages.size(); i++)
+            stages.get(i).next = i + 1 < stages.size() ? stages.get(i + 1) : null;
+        this.stages = Collections.unmodifiableList(stages);
+        this.input = stages.get(0).queue;
+        for (Worker stage : stages)
+            stage.start(threadFactory);
+    }
+
+    public static <T> Builder<T, T> builder() {
+        return new Builder<>();
+    }
+
+    public void submit(T value) throws InterruptedException {
+        Objects.requireNonNull(value);
+        checkRunning();
+        input.putAll(Collections.singletonList(value));
+    }
+
+    /**
+     * @return false when the first queue stayed full for the timeout
+     */
+    public boolean offer(T value, Duration timeout) throws InterruptedException {
+        Objects.requireNonNull(value);
+        checkRunning();
+        return input.offer(value, timeout.toNanos());
+    }
+
+    /**
+     * Values waiting in front of every stage, in stage order. The deepest queue is in front of the bottleneck
+     */
+    public Map<String, Integer> queueDepths() {
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        for (Worker stage : stages)
+            depths.put(stage.spec.name, stage.queue.size());
+        return depths;
+    }
+
+    /**
+     * Stops accepting values, values already submitted still go through every stage
+     */
+    public void shutdown() {
+        shutdown = true;
+        input.close();
+    }
+
+    public boolean awaitTermination(Duration timeout) throws InterruptedException {
+        return terminated.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Shuts down and waits until submitted values went through
+     */
+    @Override
+    public void close() throws InterruptedException {
+        shutdown();
+        terminated.await();
+    }
+
+    private void checkRunning() {
+        if (Objects.nonNull(failure))
+            throw new IllegalStateException("Pipeline failed", failure);
+        if (shutdown)
+            throw new IllegalStateException("Pipeline is shut down");
+    }
+
+    private final class Worker implements Runnable {
+        private final Spec spec;
+        private final int batchSize;
+        private final BatchQueue<Object> queue;
+        private final AtomicInteger alive;
+        private Worker next;
+
+        private Worker(Spec spec, int batchSize) {
+            this.spec = spec;
+            this.batchSize = batchSize;
+            this.queue = new BatchQueue<>(spec.capacity);
+            this.alive = new AtomicInteger(spec.workers);
+        }
+
+        /**
+         * @param threadFactory daemon threads named after the stage when null
+         */
+        private void start(ThreadFactory threadFactory) {
+            for (int i = 0; i < spec.workers; i++) {
+                Thread thread;
+                if (Objects.isNull(threadFactory)) {
+                    thread = new Thread(this, "monad-pipeline-" + spec.name + "-" + i);
+                    thread.setDaemon(true);
+                } else {
+                    thread = threadFactory.newThread(this);
+                }
+                thread.start();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Object> batch = new ArrayList<>(batchSize);
+            List<Object> results = new ArrayList<>(batchSize);
+            boolean drained = false;
+            Throwable cause = null;
+            try {
+                while (queue.drainTo(batch, batchSize) >= 0) {
+                    for (Object value : batch) {
+                        Object result = process(value);
+                        if (Objects.nonNull(result))
+                            results.add(result);
+                    }
+                    if (Objects.nonNull(next) && !results.isEmpty() && !handOff(results))
+                        return;
+                    batch.clear();
+                    results.clear();
+                }
+                drained = true;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                cause = ex;
+            } catch (Throwable ex) {
+                cause = ex;
+                throw ex;
+            } finally {
+                // last worker of the stage lets the next stage finish what is left in its queue
+                if (alive.decrementAndGet() == 0) {
+                    if (!drained)
+                        fail(cause);
+                    if (Objects.nonNull(next))
+                        next.queue.close();
+                    else
+                        terminated.countDown();
+                }
+            }
+        }
+
+        /**
+         * @return false when the next stage died and closed its queue, the failure is already recorded by that stage
+         */
+        private boolean handOff(List<Object> results) throws InterruptedException {
+            try {
+                next.queue.putAll(results);
+                return true;
+            } catch (IllegalStateException ex) {
+                return false;
+            }
+        }
+
+        /**
+         * Nobody takes from the queue of the stage anymore, stages in front of it and submitters must not block on it.
+         * Closing the input lets the stages in front finish their queues and stop one after another.
+         * The first failure is the root cause, failures of stages stopped by it don't replace it
+         */
+        private void fail(Throwable cause) {
+            FAILURE.compareAndSet(MonadPipeline.this, null,
+                    Objects.isNull(cause) ? new IllegalStateException("Stage " + spec.name + " stopped") : cause);
+            shutdown = true;
+            queue.close();
+            input.close();
+        }
+
+        private Object process(Object value) {
+            try {
+                return Metrics.enabled() ?
+                        Metrics.measure(spec.name, spec.function, value, null)
+                        : spec.function.apply(value);
+            } catch (RuntimeException ex) {
+                ErrorHandlers.handle(null, spec.name, ex);
+                return null;
+            }
+        }
+    }
+
+    private static final class Spec {
+        private final String name;
+        private final Function<Object, Object> function;
+        private final int workers;
+        private final int capacity;
+
+        private Spec(String name, Function<Object, Object> function, int workers, int capacity) {
+            if (workers <= 0)
+                throw new IllegalArgumentException("workers must be positive");
+            this.name = Objects.requireNonNull(name);
+            this.function = function;
+            this.workers = workers;
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * @param <T> type of submitted values
+     * @param <V> type of values after the last stage
+     */
+    @SuppressWarnings("unchecked")
+    public static final class Builder<T, V> {
+        private static final int DEFAULT_BATCH_SIZE = 64;
+
+        private final List<Spec> specs = new ArrayList<>();
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private ThreadFactory threadFactory;
+
+        private Builder() {
+        }
+
+        public <M> Builder<T, M> mutable(String name, Function<V, M> function, int workers, int capacity) {
+            specs.add(new Spec(name, (Function<Object, Object>) function, workers, capacity));
+            return (Builder<T, M>) this;
+        }
+
+        public Builder<T, V> apply(String name, Consumer<V> consumer, int workers, int capacity) {
+            return mutable(name, value -> {
+                consumer.accept(value);
+                return value;
+            }, workers, capacity);
+        }
+
+        public <R> Builder<T, V> applyAndConsume(String name, Function<V, R> function, Consumer<R> consumer, int workers, int capacity) {
+            return mutable(name, value -> {
+                R result = function.apply(value);
+                if (Objects.nonNull(result))
+                    consumer.accept(result);
+                return value;
+            }, workers, capacity);
+        }
+
+        /**
+         * Max values taken from or handed to a queue at once, 64 by default
+         */
+        public Builder<T, V> batchSize(int batchSize) {
+            if (batchSize <= 0)
+                throw new IllegalArgumentException("batchSize must be positive");
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Daemon threads named after the stage by default
+         */
+        public Builder<T, V> threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = Objects.requireNonNull(threadFactory);
+            return this;
+        }
+
+        /**
+         * Starts workers of every stage
+         */
+        public MonadPipeline<T> build() {
+            if (specs.isEmpty())
+                throw new IllegalStateException("Pipeline has no stages");
+            return new MonadPipeline<>(new ArrayList<>(specs), batchSize, threadFactory);
+        }
+    }
+
+}
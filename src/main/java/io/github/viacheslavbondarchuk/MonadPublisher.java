@@ -0,0 +1,201 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 8:10 PM
+ * date: 10/16/2026
+ * <p>
+ * Runs every item of the upstream through an async monad pipeline and publishes unwrapped values in upstream order.
+ * No more than prefetch items are requested upstream and not yet delivered, and no more than downstream asked for,
+ * empty results are skipped. Single subscriber
+ **/
+
+final class MonadPublisher<T, R> implements Flow.Publisher<R>, Flow.Subscriber<T>, Flow.Subscription {
+    private final Flow.Publisher<T> upstream;
+    private final Function<? super Monad<T, ?>, ? extends Monad<R, ?>> pipeline;
+    private final AsyncContext context;
+    private final int prefetch;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final Queue<CompletableFuture<R>> results = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicLong outstanding = new AtomicLong();
+
+    private volatile Flow.Subscriber<? super R> downstream;
+    private volatile Flow.Subscription subscription;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+    private volatile Throwable invalidRequest;
+
+    MonadPublisher(Flow.Publisher<T> upstream, Function<? super Monad<T, ?>, ? extends Monad<R, ?>> pipeline,
+                   AsyncContext context, int prefetch) {
+        if (prefetch <= 0)
+            throw new IllegalArgumentException("prefetch must be positive");
+        this.upstream = Objects.requireNonNull(upstream);
+        this.pipeline = Objects.requireNonNull(pipeline);
+        this.context = Objects.requireNonNull(context);
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Monad publisher allows only one subscriber"));
+            return;
+        }
+        downstream = subscriber;
+        upstream.subscribe(this);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (Objects.nonNull(this.subscription)) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        downstream.onSubscribe(this);
+        drain();
+    }
+
+    @Override
+    public void onNext(T item) {
+        CompletableFuture<R> result;
+        try {
+            result = pipeline.apply(Monad.wrapAsync(item, context)).unwrapAsync();
+        } catch (RuntimeException ex) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(ex);
+        }
+        // added before the item leaves outstanding, so the window is never overestimated
+        results.add(result);
+        outstanding.decrementAndGet();
+        result.whenComplete((value, ex) -> drain());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            // signalled by drain, onError must not race with onNext
+            invalidRequest = new IllegalArgumentException("non-positive request: " + n);
+            drain();
+            return;
+        }
+        demand.accumulateAndGet(n, (current, requested) -> current + requested < 0 ? Long.MAX_VALUE : current + requested);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (cancelled)
+            return;
+        cancelled = true;
+        subscription.cancel();
+        results.clear();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0)
+            return;
+        int missed = 1;
+        do {
+            if (cancelled)
+                return;
+            if (Objects.nonNull(invalidRequest)) {
+                fail(invalidRequest);
+                return;
+            }
+            long requested = demand.get();
+            long emitted = 0;
+            CompletableFuture<R> head;
+            while (Objects.nonNull(head = results.peek()) && head.isDone()) {
+                if (head.isCompletedExceptionally()) {
+                    fail(cause(head));
+                    return;
+                }
+                R value = head.getNow(null);
+                if (Objects.nonNull(value)) {
+                    if (emitted == requested)
+                        break;
+                    downstream.onNext(value);
+                    emitted++;
+                }
+                results.poll();
+                if (cancelled)
+                    return;
+            }
+            if (emitted > 0 && requested != Long.MAX_VALUE)
+                demand.addAndGet(-emitted);
+
+            if (done && results.isEmpty()) {
+                cancelled = true;
+                if (Objects.nonNull(error))
+                    downstream.onError(error);
+                else
+                    downstream.onComplete();
+                return;
+            }
+            long window = Math.min(demand.get(), prefetch) - results.size() - outstanding.get();
+            if (window > 0 && !done) {
+                outstanding.addAndGet(window);
+                subscription.request(window);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void fail(Throwable ex) {
+        cancelled = true;
+        subscription.cancel();
+        results.clear();
+        downstream.onError(ex);
+    }
+
+    private static Throwable cause(CompletableFuture<?> future) {
+        try {
+            future.join();
+            return new IllegalStateException("Stage is not failed");
+        } catch (CompletionException ex) {
+            return Objects.isNull(ex.getCause()) ? ex : ex.getCause();
+        } catch (RuntimeException ex) {
+            return ex;
+        }
+    }
+
+}
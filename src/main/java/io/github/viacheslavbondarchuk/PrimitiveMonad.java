@@ -0,0 +1,161 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 9:40 PM
+ * date: 10/16/2026
+ * <p>
+ * Chain, empty flag, async and wait-other stages shared by {@link IntMonad}, {@link LongMonad} and {@link DoubleMonad}.
+ * Subclasses hold the primitive value and only call the primitive functions, a stage of an empty monad is skipped here
+ **/
+
+@SuppressWarnings("unchecked")
+abstract class PrimitiveMonad<M extends PrimitiveMonad<M>> {
+    final Chain chain;
+    final boolean empty;
+
+    PrimitiveMonad(boolean empty, Chain chain) {
+        this.empty = empty;
+        this.chain = chain;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public M apply(Monad.Operation operation) {
+        if (!empty)
+            operation.apply();
+        return (M) this;
+    }
+
+    public M applyIfEmpty(Monad.Operation operation) {
+        if (empty)
+            operation.apply();
+        return (M) this;
+    }
+
+    public M applyAsync(Monad.Operation operation) {
+        return applyAsync(operation, executor());
+    }
+
+    public M applyAsync(Monad.Operation operation, Executor executor) {
+        return async("applyAsync", operation, operation::apply, executor);
+    }
+
+    public M applyAsyncAndWaitOther(Monad.Operation operation) {
+        return applyAsyncAndWaitOther(operation, executor());
+    }
+
+    public M applyAsyncAndWaitOther(Monad.Operation operation, Executor executor) {
+        return asyncAndWaitOther("applyAsyncAndWaitOther", operation, operation::apply, executor);
+    }
+
+    public M applyAsyncIfEmpty(Monad.Operation operation) {
+        return applyAsyncIfEmpty(operation, executor());
+    }
+
+    public M applyAsyncIfEmpty(Monad.Operation operation, Executor executor) {
+        if (empty) {
+            runAsync("applyAsyncIfEmpty", operation, operation::apply, executor)
+                    .handle(handleException("applyAsyncIfEmpty"));
+        }
+        return (M) this;
+    }
+
+    public M applyAsyncIfEmptyAndWaitOther(Monad.Operation operation) {
+        return applyAsyncIfEmptyAndWaitOther(operation, executor());
+    }
+
+    public M applyAsyncIfEmptyAndWaitOther(Monad.Operation operation, Executor executor) {
+        if (empty) {
+            Chain.track(chain, runAsync("applyAsyncIfEmptyAndWaitOther", operation, operation::apply, executor)
+                    .handle(handleException("applyAsyncIfEmptyAndWaitOther")));
+        }
+        return (M) this;
+    }
+
+    public <X extends Throwable> M orElseThrow(Supplier<? extends X> exceptionSupplier) throws X {
+        if (empty)
+            throw exceptionSupplier.get();
+        return (M) this;
+    }
+
+    /**
+     * Don`t use this method in the end of monad chain, use unwrap method
+     *
+     * @throws DeadlineExceededException when deadline of the chain has passed
+     */
+    public M await() {
+        if (Objects.nonNull(chain))
+            chain.await(chain.remaining(), chain.timeout());
+        return (M) this;
+    }
+
+    /**
+     * @throws DeadlineExceededException when timeout or deadline of the chain has passed
+     */
+    public M await(Duration timeout) {
+        if (Objects.nonNull(chain))
+            chain.await(Math.min(timeout.toNanos(), chain.remaining()), timeout);
+        return (M) this;
+    }
+
+    /**
+     * Stage of a non-empty monad, its dependents don't wait for it
+     */
+    M async(String stage, Object lambda, Runnable runnable, Executor executor) {
+        if (!empty) {
+            runAsync(stage, lambda, runnable, executor)
+                    .handle(handleException(stage));
+        }
+        return (M) this;
+    }
+
+    /**
+     * Stage of a non-empty monad, the chain waits for it before unwrap
+     */
+    M asyncAndWaitOther(String stage, Object lambda, Runnable runnable, Executor executor) {
+        if (!empty) {
+            Chain.track(chain, runAsync(stage, lambda, runnable, executor)
+                    .handle(handleException(stage)));
+        }
+        return (M) this;
+    }
+
+    /**
+     * Completes the chain before the value is returned by unwrap
+     *
+     * @throws NoSuchElementException when the monad is empty
+     */
+    void complete() {
+        if (Objects.nonNull(chain))
+            chain.complete();
+        if (empty)
+            throw new NoSuchElementException(getClass().getSimpleName() + " is empty");
+    }
+
+    Executor executor() {
+        return Objects.isNull(chain) ? null : chain.executor();
+    }
+
+    private CompletableFuture<Void> runAsync(String stage, Object lambda, Runnable runnable, Executor executor) {
+        return Stage.runAsync(chain, stage, lambda, runnable, executor);
+    }
+
+    /**
+     * Failure of the stage goes to the error handler under the name of the stage
+     */
+    private <V> BiFunction<V, Throwable, V> handleException(String stage) {
+        return (value, ex) -> ErrorHandlers.recover(chain, stage, value, ex);
+    }
+
+}
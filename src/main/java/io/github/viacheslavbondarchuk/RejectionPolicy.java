@@ -0,0 +1,56 @@
+package io.github.viacheslavbondarchuk;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 10:50 PM
+ * date: 10/16/2026
+ * <p>
+ * What a {@link Bulkhead} does with a stage when both its slots and its queue are taken
+ **/
+
+@EqualsAndHashCode
+@Getter(AccessLevel.PACKAGE)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RejectionPolicy {
+    private static final RejectionPolicy CALLER_RUNS = new RejectionPolicy(Kind.CALLER_RUNS, Duration.ZERO);
+    private static final RejectionPolicy FAIL_FAST = new RejectionPolicy(Kind.FAIL_FAST, Duration.ZERO);
+
+    private final Kind kind;
+    private final Duration timeout;
+
+    /**
+     * Stage runs on the submitting thread, which slows down the producer
+     */
+    public static RejectionPolicy callerRuns() {
+        return CALLER_RUNS;
+    }
+
+    /**
+     * Stage fails with {@link BulkheadFullException}, default
+     */
+    public static RejectionPolicy failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * Submitting thread waits for a slot or a queue place, stage fails with {@link BulkheadFullException} after timeout
+     */
+    public static RejectionPolicy await(Duration timeout) {
+        return new RejectionPolicy(Kind.WAIT, Objects.requireNonNull(timeout));
+    }
+
+    enum Kind {
+        CALLER_RUNS,
+        FAIL_FAST,
+        WAIT
+    }
+
+}
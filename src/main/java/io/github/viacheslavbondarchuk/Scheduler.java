@@ -0,0 +1,43 @@
+package io.github.viacheslavbondarchuk;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 1:31 PM
+ * date: 10/16/2026
+ * <p>
+ * Single daemon timer thread of the library, tasks on it must be short
+ **/
+
+final class Scheduler {
+
+    private Scheduler() {
+    }
+
+    static ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return Holder.EXECUTOR.schedule(task, delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    static ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Duration period) {
+        return Holder.EXECUTOR.scheduleAtFixedRate(task, period.toNanos(), period.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static final class Holder {
+        private static final ScheduledThreadPoolExecutor EXECUTOR = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "monad-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+
+}
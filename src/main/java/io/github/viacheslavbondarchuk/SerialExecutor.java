@@ -0,0 +1,158 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 2:20 AM
+ * date: 10/17/2026
+ * <p>
+ * Runs tasks one at a time in submission order on top of another executor, no thread of its own.
+ * Submitter never blocks, a drain task on the executor runs queued tasks in turns of {@value #TURN}.
+ * Task is rejected to its submitter when the drain can't be started for it, a queued task whose drain is
+ * rejected later fails on its own if it is a stage, otherwise the rejection goes to the error handler
+ **/
+
+public final class SerialExecutor implements Executor {
+    private static final int TURN = 64;
+
+    private final Executor executor;
+    private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param executor runs the tasks, CompletableFuture default pool when null
+     */
+    public SerialExecutor(Executor executor) {
+        this.executor = Stage.executorOrDefault(executor);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        execute(task, executor);
+    }
+
+    /**
+     * Task keeps its place in the order but runs on the given executor
+     */
+    void execute(Runnable task, Executor executor) {
+        execute(task, executor, ex -> reject(task, ex));
+    }
+
+    /**
+     * @param rejection called instead of the task when it is dropped from the queue after the submitter returned
+     */
+    void execute(Runnable task, Executor executor, Consumer<RejectedExecutionException> rejection) {
+        Task queued = new Task(Objects.requireNonNull(task), executor, rejection);
+        tasks.add(queued);
+        if (!scheduled.compareAndSet(false, true))
+            return;
+        try {
+            schedule(executor);
+        } catch (RejectedExecutionException ex) {
+            tasks.remove(queued);
+            scheduled.set(false);
+            resume();
+            throw ex;
+        }
+    }
+
+    private void schedule(Executor executor) {
+        executor.execute(() -> drain(executor));
+    }
+
+    private void drain(Executor current) {
+        Executor next = current;
+        try {
+            for (int i = 0; i < TURN; i++) {
+                Task task = tasks.peek();
+                if (Objects.isNull(task))
+                    break;
+                if (task.executor != current) {
+                    next = task.executor;
+                    return;
+                }
+                tasks.poll();
+                try {
+                    task.runnable.run();
+                } catch (RuntimeException ex) {
+                    ErrorHandlers.handle(null, null, ex);
+                }
+            }
+        } finally {
+            // also after an Error of a task, otherwise the queue stays scheduled with nobody draining it
+            if (tasks.isEmpty()) {
+                scheduled.set(false);
+                resume();
+            } else {
+                // turn is over or the head runs elsewhere, let other work of the executor run
+                hop(next);
+            }
+        }
+    }
+
+    /**
+     * Keeps the drain going on another executor, the task at the head is dropped each time the executor
+     * rejects it and the drain is retried for the next one
+     */
+    private void hop(Executor executor) {
+        Executor next = executor;
+        while (true) {
+            try {
+                schedule(next);
+                return;
+            } catch (RejectedExecutionException ex) {
+                Task rejected = tasks.poll();
+                try {
+                    if (Objects.nonNull(rejected))
+                        rejected.rejection.accept(ex);
+                } finally {
+                    scheduled.set(false);
+                }
+                Task head = tasks.peek();
+                if (Objects.isNull(head) || !scheduled.compareAndSet(false, true))
+                    return;
+                next = head.executor;
+            }
+        }
+    }
+
+    /**
+     * Task added after the queue looked empty but before the flag was cleared must not be stranded
+     */
+    private void resume() {
+        Task head = tasks.peek();
+        if (Objects.nonNull(head) && scheduled.compareAndSet(false, true))
+            hop(head.executor);
+    }
+
+    /**
+     * Submitter of a dropped task is gone, a stage fails on its own and any other task is reported
+     */
+    static void reject(Runnable task, RejectedExecutionException ex) {
+        if (task instanceof Stage) {
+            ((Stage<?>) task).reject(ex);
+        } else {
+            ErrorHandlers.handle(null, null, ex);
+        }
+    }
+
+    private static final class Task {
+        private final Runnable runnable;
+        private final Executor executor;
+        private final Consumer<RejectedExecutionException> rejection;
+
+        private Task(Runnable runnable, Executor executor, Consumer<RejectedExecutionException> rejection) {
+            this.runnable = runnable;
+            this.executor = executor;
+            this.rejection = rejection;
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 1:20 PM
+ * date: 10/16/2026
+ * <p>
+ * Async stage of a chain. Unlike CompletableFuture.supplyAsync, cancel(true) interrupts the running thread
+ * and a stage which didn't start before its chain was cancelled never runs
+ **/
+
+final class Stage<R> extends CompletableFuture<R> implements Runnable {
+    private static final Executor DEFAULT_EXECUTOR = new CompletableFuture<Void>().defaultExecutor();
+    private static final AtomicReferenceFieldUpdater<Stage, Thread> RUNNER =
+            AtomicReferenceFieldUpdater.newUpdater(Stage.class, Thread.class, "runner");
+
+    private final Chain chain;
+    private final String name;
+    private final Supplier<R> supplier;
+    private final MonadMetrics metrics;
+    private final long submitted;
+    private final CallSite site;
+
+    private volatile Thread runner;
+    private volatile boolean interrupted;
+
+    /**
+     * @param chain null for async stages of a sync monad
+     */
+    Stage(Chain chain, String name, Supplier<R> supplier) {
+        this(chain, name, supplier, null);
+    }
+
+    /**
+     * @param site measured call site of the stage, null when the chain isn't adaptive
+     */
+    Stage(Chain chain, String name, Supplier<R> supplier, CallSite site) {
+        this.chain = chain;
+        this.name = name;
+        this.supplier = supplier;
+        this.site = site;
+        this.metrics = Metrics.current();
+        this.submitted = Objects.isNull(metrics) ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Async stage on the chain, or outside of any chain for sync monads. Those run as plain futures
+     * unless metrics are installed or a stage event is recorded
+     *
+     * @param lambda function passed to the monad, the call site adaptive chains measure
+     */
+    static <R> CompletableFuture<R> supply(Chain chain, String name, Object lambda, Supplier<R> supplier,
+                                           Executor executor) {
+        if (Objects.nonNull(chain))
+            return chain.supplyAsync(name, lambda, supplier, executor);
+        if (Metrics.enabled() || MonadEvents.recording())
+            return supplyAsync(name, supplier, executor);
+        return Objects.isNull(executor) ?
+                CompletableFuture.supplyAsync(supplier)
+                : CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    /**
+     * Hedged attempt, always a stage so cancelling the loser interrupts it, with or without a chain
+     */
+    static <R> CompletableFuture<R> attempt(Chain chain, String name, Object lambda, Supplier<R> supplier,
+                                            Executor executor) {
+        return Objects.nonNull(chain) ?
+                chain.supplyAsync(name, lambda, supplier, executor)
+                : supplyAsync(name, supplier, executor);
+    }
+
+    /**
+     * {@link #supply} of a stage without a result
+     */
+    static CompletableFuture<Void> runAsync(Chain chain, String name, Object lambda, Runnable runnable, Executor executor) {
+        if (Objects.isNull(chain) && !Metrics.enabled() && !MonadEvents.recording())
+            return Objects.isNull(executor) ?
+                    CompletableFuture.runAsync(runnable)
+                    : CompletableFuture.runAsync(runnable, executor);
+        return supply(chain, name, lambda, () -> {
+            runnable.run();
+            return null;
+        }, executor);
+    }
+
+    static <R> Stage<R> supplyAsync(String name, Supplier<R> supplier, Executor executor) {
+        Stage<R> stage = new Stage<>(null, name, supplier);
+        MonadEvents.submitted(null, name);
+        stage.execute(executor);
+        return stage;
+    }
+
+    static Executor executorOrDefault(Executor executor) {
+        return Objects.isNull(executor) ? DEFAULT_EXECUTOR : executor;
+    }
+
+    void execute(Executor executor) {
+        try {
+            executorOrDefault(executor).execute(this);
+        } catch (RejectedExecutionException ex) {
+            reject(ex);
+        }
+    }
+
+    void reject(RejectedExecutionException ex) {
+        completeExceptionally(ex);
+        if (Objects.nonNull(chain))
+            chain.remove(this);
+    }
+
+    @Override
+    public void run() {
+        Thread current = Thread.currentThread();
+        if (isDone() || !RUNNER.compareAndSet(this, null, current))
+            return;
+        long started = Objects.isNull(metrics) && Objects.isNull(site) ? 0L : System.nanoTime();
+        long finished = started;
+        MonadEvents.StageSpan span = MonadEvents.stage();
+        Throwable failure = null;
+        try {
+            if (Objects.nonNull(chain) && chain.isCancelled()) {
+                failure = new CancellationException();
+                super.cancel(false);
+            } else {
+                R result;
+                try {
+                    result = supplier.get();
+                } finally {
+                    // measured before dependents run and before the next submission may read the call site
+                    finished = sample(started);
+                }
+                complete(result);
+            }
+        } catch (Throwable ex) {
+            failure = ex;
+            if (isCancelled() || runner != current) {
+                // hedge loser or cache waiter failing on its interrupt, not a failure of the chain
+                if (Objects.nonNull(chain))
+                    chain.suppress(ex);
+            } else {
+                // fail-fast chain is cancelled before dependents of the stage see the failure
+                if (Objects.nonNull(chain))
+                    chain.fail(ex);
+                completeExceptionally(ex);
+            }
+        } finally {
+            if (!RUNNER.compareAndSet(this, current, null)) {
+                // cancel took the runner, wait for its interrupt and don't leak it to the next task of the thread
+                while (!interrupted)
+                    Thread.onSpinWait();
+                Thread.interrupted();
+            }
+            if (Objects.nonNull(chain))
+                chain.remove(this);
+            span.finish(chain, name, Objects.nonNull(failure));
+            if (Objects.nonNull(metrics))
+                metrics.onStage(name, started - submitted, finished - started, failure,
+                        Objects.isNull(chain) ? 0L : chain.pending());
+        }
+    }
+
+    private long sample(long started) {
+        if (Objects.isNull(metrics) && Objects.isNull(site))
+            return started;
+        long finished = System.nanoTime();
+        if (Objects.nonNull(site))
+            site.record(finished - started);
+        return finished;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        Thread thread = runner;
+        if (mayInterruptIfRunning && Objects.nonNull(thread) && RUNNER.compareAndSet(this, thread, null)) {
+            try {
+                thread.interrupt();
+            } finally {
+                interrupted = true;
+            }
+        }
+        if (Objects.nonNull(chain))
+            chain.remove(this);
+        return cancelled;
+    }
+
+}
@@ -0,0 +1,88 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 11:45 PM
+ * date: 10/16/2026
+ * <p>
+ * Dependency graph of async stages over the value of a monad, see {@link Monad#graph(Function)}.
+ * Stages of the value start right away, a dependent stage starts the moment its inputs complete.
+ * Empty input skips the dependent stage and its result is empty too
+ **/
+
+public final class StageGraph<T> {
+    private final Chain chain;
+    private final String name;
+    private final T value;
+    private final Executor executor;
+
+    StageGraph(Chain chain, String name, T value, Executor executor) {
+        this.chain = chain;
+        this.name = name;
+        this.value = value;
+        this.executor = executor;
+    }
+
+    public <R> Node<R> stage(Function<T, R> function) {
+        return new Node<>(submit(function, () -> function.apply(value)));
+    }
+
+    public <A, R> Node<R> stage(Node<A> input, Function<A, R> function) {
+        return new Node<>(input.future.thenCompose(a -> Objects.isNull(a) ?
+                CompletableFuture.completedFuture(null)
+                : submit(function, () -> function.apply(a))));
+    }
+
+    public <A, B, R> Node<R> stage(Node<A> first, Node<B> second, BiFunction<A, B, R> function) {
+        CompletableFuture<R> future = first.future.thenCombine(second.future, (a, b) -> Objects.isNull(a) || Objects.isNull(b) ?
+                        CompletableFuture.<R>completedFuture(null)
+                        : submit(function, () -> function.apply(a, b)))
+                .thenCompose(Function.identity());
+        future.whenComplete((result, ex) -> {
+            if (Objects.nonNull(ex)) {
+                reportOther(first.future, ex);
+                reportOther(second.future, ex);
+            }
+        });
+        return new Node<>(future);
+    }
+
+    /**
+     * Dependent carries the failure of one input only, a failure of the other input goes to the error handler here
+     */
+    private void reportOther(CompletableFuture<?> input, Throwable ex) {
+        input.whenComplete((value, other) -> {
+            if (Objects.nonNull(other) && cause(other) != cause(ex) && (Objects.isNull(chain) || !chain.isCancelled()))
+                ErrorHandlers.handle(chain, name, other);
+        });
+    }
+
+    private static Throwable cause(Throwable ex) {
+        return ex instanceof CompletionException && Objects.nonNull(ex.getCause()) ? ex.getCause() : ex;
+    }
+
+    private <R> CompletableFuture<R> submit(Object lambda, Supplier<R> supplier) {
+        return Stage.supply(chain, name, lambda, supplier, executor);
+    }
+
+    public static final class Node<V> {
+        private final CompletableFuture<V> future;
+
+        private Node(CompletableFuture<V> future) {
+            this.future = future;
+        }
+
+        CompletableFuture<V> future() {
+            return future;
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package io.github.viacheslavbondarchuk;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * author: viacheslavbondarchuk
+ * time: 10:12 AM
+ * date: 10/16/2026
+ * <p>
+ * Executors for {@link Monad#wrapAsync(Object, Executor)}.
+ * Java 21 layer of the multi-release jar, async stages may block on JDBC/HTTP calls
+ * without holding a platform thread. Waiting in {@link Monad#unwrap()} parks the virtual thread,
+ * the wait path doesn't use monitors, so carrier threads aren't pinned
+ **/
+
+public final class MonadExecutors {
+
+    private MonadExecutors() {
+    }
+
+    public static boolean isVirtualThreadsSupported() {
+        return true;
+    }
+
+    /**
+     * Shared executor which starts a new virtual thread per async stage, available on Java 21+
+     */
+    public static Executor virtualThreads() {
+        return VirtualThreads.EXECUTOR;
+    }
+
+    private static final class VirtualThreads {
+        private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+                .name("monad-virtual-", 0)
+                .factory());
+    }
+
+}
@@ -0,0 +1,93 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/17/26
+ * time: 4:10 AM
+ */
+public class AdaptiveDispatchTest {
+
+    @AfterEach
+    public void uninstall() {
+        MonadMetrics.uninstall();
+    }
+
+    @Test
+    @Timeout(10)
+    public void testCheapStageRunsInline() {
+        HistogramMetrics metrics = new HistogramMetrics();
+        MonadMetrics.install(metrics);
+        AsyncContext context = AsyncContext.builder().inlineThreshold(Duration.ofMillis(50)).build();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        AtomicReference<Integer> result = new AtomicReference<>();
+        for (int i = 0; i < 20; i++) {
+            int value = Monad.wrapAsync(i, context)
+                    .applyAsyncAndWaitOther(ignored -> threads.add(Thread.currentThread()))
+                    .applyAsyncWaitOtherAndStore(number -> number + 1, result)
+                    .unwrap();
+            Assertions.assertEquals(i, value);
+            Assertions.assertEquals(i + 1, result.get());
+        }
+        Assertions.assertNotSame(Thread.currentThread(), threads.get(0));
+        Assertions.assertSame(Thread.currentThread(), threads.get(threads.size() - 1));
+        HistogramMetrics.StageSnapshot snapshot = metrics.snapshot().get("applyAsyncAndWaitOther");
+        Assertions.assertEquals(1, snapshot.getDispatched());
+        Assertions.assertEquals(19, snapshot.getInlined());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testExpensiveStageIsDispatched() {
+        AsyncContext context = AsyncContext.builder().inlineThreshold(Duration.ofMillis(1)).build();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Monad.wrapAsync(i, context)
+                    .applyAsyncAndWaitOther(ignored -> {
+                        sleep(10);
+                        threads.add(Thread.currentThread());
+                    })
+                    .unwrap();
+        }
+        Assertions.assertEquals(5, threads.size());
+        threads.forEach(thread -> Assertions.assertNotSame(Thread.currentThread(), thread));
+    }
+
+    @Test
+    @Timeout(10)
+    public void testInlineFailureGoesToErrorHandler() {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AsyncContext context = AsyncContext.builder()
+                .inlineThreshold(Duration.ofMillis(50))
+                .errorHandler(failure::set)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            failure.set(null);
+            int value = Monad.wrapAsync(i, context)
+                    .applyAsyncAndWaitOther(ignored -> {
+                        throw new IllegalStateException("inline");
+                    })
+                    .unwrap();
+            Assertions.assertEquals(i, value);
+            Assertions.assertTrue(failure.get() instanceof IllegalStateException);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
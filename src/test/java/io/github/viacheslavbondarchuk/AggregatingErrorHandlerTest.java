@@ -0,0 +1,131 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/17/26
+ * time: 12:50 AM
+ */
+public class AggregatingErrorHandlerTest {
+
+    @AfterEach
+    public void uninstall() {
+        MonadErrorHandler.uninstall();
+    }
+
+    @Test
+    public void testIdenticalFailuresAreGrouped() {
+        try (AggregatingErrorHandler handler = new AggregatingErrorHandler(Duration.ofHours(1), 2)) {
+            for (int i = 0; i < 100; i++)
+                handler.onError(fail(i));
+            handler.onError(new IllegalArgumentException("other"));
+            Assertions.assertEquals(2, handler.flush());
+            handler.onError(fail(100));
+            Assertions.assertEquals(1, handler.flush());
+            Assertions.assertEquals(0, handler.flush());
+            // idle groups are forgotten, a third kind of failure above maxGroups is only counted
+            handler.onError(fail(101));
+            handler.onError(new IllegalArgumentException("other"));
+            handler.onError(new UnsupportedOperationException("third"));
+            Assertions.assertEquals(2, handler.flush());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    public void testFailuresAreGroupedByStage() {
+        try (AggregatingErrorHandler handler = new AggregatingErrorHandler(Duration.ofHours(1), 4)) {
+            MonadErrorHandler.install(handler);
+            for (int i = 0; i < 10; i++) {
+                Monad.wrapAsync(i)
+                        .applyAsync(value -> {
+                            throw new IllegalStateException("async");
+                        })
+                        .applyAsyncAndWaitOther(value -> {
+                            throw new IllegalStateException("wait other");
+                        })
+                        .unwrap();
+            }
+            Assertions.assertEquals(2, handler.flush());
+            Assertions.assertEquals(20, handler.logged());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    public void testFailuresAreFlushedPeriodically() throws InterruptedException {
+        try (AggregatingErrorHandler handler = new AggregatingErrorHandler(Duration.ofMillis(10), 2)) {
+            handler.onError(fail(0));
+            while (handler.logged() == 0)
+                TimeUnit.MILLISECONDS.sleep(5);
+            Assertions.assertEquals(1, handler.logged());
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    public void testChainHandlerReceivesFailures() {
+        List<Throwable> chainFailures = new CopyOnWriteArrayList<>();
+        List<Throwable> installedFailures = new CopyOnWriteArrayList<>();
+        MonadErrorHandler.install(installedFailures::add);
+
+        Monad.wrapAsync(1, AsyncContext.builder().errorHandler(chainFailures::add).build())
+                .applyAsyncAndWaitOther(value -> {
+                    throw new IllegalStateException("chain");
+                })
+                .unwrap();
+        Monad.wrapAsync(1)
+                .applyAsyncAndWaitOther(value -> {
+                    throw new IllegalStateException("installed");
+                })
+                .unwrap();
+
+        Assertions.assertEquals(1, chainFailures.size());
+        Assertions.assertEquals("chain", chainFailures.get(0).getMessage());
+        Assertions.assertEquals(1, installedFailures.size());
+        Assertions.assertEquals("installed", installedFailures.get(0).getMessage());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testNoFailureIsLostWhileIdleGroupsAreForgotten() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try (AggregatingErrorHandler handler = new AggregatingErrorHandler(Duration.ofHours(1), 4)) {
+            IllegalStateException failure = fail(0);
+            CountDownLatch done = new CountDownLatch(4);
+            for (int i = 0; i < 4; i++) {
+                pool.execute(() -> {
+                    for (int j = 0; j < 50_000; j++) {
+                        handler.onError(failure);
+                        if (j % 100 == 0)
+                            Thread.yield();
+                    }
+                    done.countDown();
+                });
+            }
+            while (!done.await(0, TimeUnit.MILLISECONDS))
+                handler.flush();
+            handler.flush();
+            Assertions.assertEquals(200_000, handler.logged());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static IllegalStateException fail(int attempt) {
+        return new IllegalStateException("attempt " + attempt);
+    }
+
+}
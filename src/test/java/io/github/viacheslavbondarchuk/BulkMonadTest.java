@@ -0,0 +1,79 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 2:40 PM
+ */
+public class BulkMonadTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMutableKeepsOrderAndNulls() {
+        List<Integer> values = IntStream.range(0, 100_000)
+                .boxed()
+                .map(value -> value % 10 == 0 ? null : value)
+                .collect(Collectors.toList());
+        List<Integer> result = Monad.wrapAll(values, pool)
+                .mutable(value -> value * 2)
+                .unwrap();
+        Assertions.assertEquals(values.size(), result.size());
+        for (int index = 0; index < values.size(); index++) {
+            Integer expected = values.get(index) == null ? null : values.get(index) * 2;
+            Assertions.assertEquals(expected, result.get(index));
+        }
+    }
+
+    @Test
+    public void testApplyRunsOnPool() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        LongAdder sum = new LongAdder();
+        Monad.wrapAll(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()), pool)
+                .apply(value -> {
+                    threads.add(Thread.currentThread().getName());
+                    sum.add(value);
+                });
+        Assertions.assertEquals(100_000L * 99_999 / 2, sum.sum());
+        Assertions.assertTrue(threads.stream().allMatch(name -> name.startsWith("ForkJoinPool")));
+    }
+
+    @Test
+    public void testApplyIfNullAndFillNulls() {
+        LongAdder nulls = new LongAdder();
+        List<String> result = Monad.wrapAll(new ArrayList<>(Arrays.asList("a", null, "b", null)), pool)
+                .applyIfNull(nulls::increment)
+                .fillNulls(() -> "empty")
+                .unwrap();
+        Assertions.assertEquals(2, nulls.sum());
+        Assertions.assertEquals(Arrays.asList("a", "empty", "b", "empty"), result);
+    }
+
+    @Test
+    public void testExceptionIsPropagated() {
+        BulkMonad<Integer> monad = Monad.wrapAll(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()), pool);
+        Assertions.assertThrows(IllegalStateException.class, () -> monad.apply(value -> {
+            if (value == 5_000)
+                throw new IllegalStateException("TEST EXCEPTION");
+        }));
+    }
+
+}
@@ -0,0 +1,113 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 11:30 PM
+ */
+public class BulkheadTest {
+
+    @Test
+    @Timeout(10)
+    public void testConcurrencyIsLimited() {
+        Bulkhead bulkhead = Bulkhead.of("limited", 2, 100);
+        AsyncContext context = AsyncContext.builder().bulkhead(bulkhead).build();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+        Monad<Integer, ?> monad = Monad.wrapAsync(1, context);
+        for (int i = 0; i < 20; i++) {
+            monad = monad.applyAsyncAndWaitOther(value -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+                done.incrementAndGet();
+            });
+        }
+        monad.unwrap();
+        Assertions.assertEquals(20, done.get());
+        Assertions.assertTrue(maxRunning.get() <= 2, String.valueOf(maxRunning.get()));
+        Assertions.assertEquals(0, bulkhead.rejected());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testFailFast() {
+        Bulkhead bulkhead = Bulkhead.of("fail-fast", 1, 0);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean rejectedRan = new AtomicBoolean();
+        Monad<Integer, ?> monad = Monad.wrapAsync(1, AsyncContext.builder().bulkhead(bulkhead).build())
+                .applyAsyncAndWaitOther(value -> await(release))
+                .applyAsyncAndWaitOther(value -> rejectedRan.set(true));
+        Assertions.assertEquals(1, bulkhead.running());
+        Assertions.assertEquals(1, bulkhead.rejected());
+        release.countDown();
+        monad.unwrap();
+        Assertions.assertFalse(rejectedRan.get());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testCallerRuns() {
+        Bulkhead bulkhead = Bulkhead.builder()
+                .name("caller-runs")
+                .maxConcurrent(1)
+                .rejection(RejectionPolicy.callerRuns())
+                .build();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        Monad.wrapAsync(1, AsyncContext.builder().bulkhead(bulkhead).build())
+                .applyAsyncAndWaitOther(value -> await(release))
+                .applyAsyncAndWaitOther(value -> thread.set(Thread.currentThread()))
+                .apply(release::countDown)
+                .unwrap();
+        Assertions.assertSame(Thread.currentThread(), thread.get());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testWaitForSlot() {
+        Bulkhead bulkhead = Bulkhead.builder()
+                .name("wait")
+                .maxConcurrent(1)
+                .rejection(RejectionPolicy.await(Duration.ofSeconds(5)))
+                .build();
+        AtomicInteger done = new AtomicInteger();
+        Monad.wrapAsync(1, AsyncContext.builder().bulkhead(bulkhead).build())
+                .applyAsyncAndWaitOther(value -> {
+                    sleep(100);
+                    done.incrementAndGet();
+                })
+                .applyAsyncAndWaitOther(value -> done.incrementAndGet())
+                .unwrap();
+        Assertions.assertEquals(2, done.get());
+        Assertions.assertEquals(0, bulkhead.rejected());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
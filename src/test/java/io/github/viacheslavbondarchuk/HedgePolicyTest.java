@@ -0,0 +1,188 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 10:30 PM
+ */
+public class HedgePolicyTest {
+
+    @Test
+    @Timeout(5)
+    public void testSlowAttemptIsHedgedAndCancelled() {
+        HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(50), 1d);
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicReference<String> result = new AtomicReference<>();
+        long started = System.nanoTime();
+        Monad.wrapAsync("value")
+                .applyAsyncWaitOtherHedgedAndConsume(value -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException ex) {
+                            interrupted.set(true);
+                        }
+                        return "slow";
+                    }
+                    return "fast";
+                }, result::set, policy)
+                .unwrap();
+        Assertions.assertEquals("fast", result.get());
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(2)) < 0);
+        Assertions.assertEquals(1, policy.hedges());
+        sleep(200);
+        Assertions.assertTrue(interrupted.get());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testSyncMonadLoserIsInterrupted() throws InterruptedException {
+        HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(50), 1d);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> result = new AtomicReference<>();
+        Monad.<String, Object>wrap("value")
+                .applyAsyncWaitOtherHedgedAndConsume(value -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException ex) {
+                            interrupted.countDown();
+                        }
+                        return "slow";
+                    }
+                    return "fast";
+                }, value -> {
+                    result.set(value);
+                    done.countDown();
+                }, policy);
+        Assertions.assertTrue(done.await(2, TimeUnit.SECONDS));
+        Assertions.assertEquals("fast", result.get());
+        Assertions.assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @Timeout(5)
+    public void testHedgesAreLimitedByRatio() {
+        HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(10), 0d);
+        AtomicReference<Integer> result = new AtomicReference<>();
+        Monad.wrapAsync(1)
+                .applyAsyncWaitOtherHedgedAndConsume(value -> {
+                    sleep(200);
+                    return value + 1;
+                }, result::set, policy)
+                .unwrap();
+        Assertions.assertEquals(2, result.get());
+        Assertions.assertEquals(0, policy.hedges());
+        Assertions.assertEquals(1, policy.calls());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testDelayFollowsPercentile() {
+        HedgePolicy policy = HedgePolicy.percentile(0.9d, Duration.ofSeconds(1));
+        Monad<Integer, ?> monad = Monad.wrapAsync(1);
+        for (int i = 0; i < 64; i++)
+            monad = monad.applyAsyncWaitOtherHedgedAndConsume(value -> value, value -> {
+            }, policy);
+        monad.unwrap();
+        sleep(100);
+        Assertions.assertTrue(policy.delay().compareTo(Duration.ofSeconds(1)) < 0, policy.delay().toString());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testInterruptedLoserDoesNotFailFailFastChain() {
+        HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(50), 1d);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch loserFailed = new CountDownLatch(1);
+        AtomicReference<Integer> result = new AtomicReference<>();
+        int value = Monad.wrapAsync(1, AsyncContext.builder().failFast(true).build())
+                .applyAsyncHedgedAndStore(number -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        try {
+                            Thread.sleep(10_000);
+                        } catch (InterruptedException ex) {
+                            loserFailed.countDown();
+                            throw new IllegalStateException("interrupted loser");
+                        }
+                    }
+                    return 42;
+                }, result, policy)
+                .applyAsyncAndWaitOther(number -> {
+                    try {
+                        Assertions.assertTrue(loserFailed.await(2, TimeUnit.SECONDS));
+                    } catch (InterruptedException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                    sleep(100);
+                })
+                .unwrap();
+        Assertions.assertEquals(1, value);
+        Assertions.assertEquals(42, result.get());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testSecondAttemptNeverRunsOnTimerThread() {
+        HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(50), 1d);
+        Bulkhead bulkhead = Bulkhead.builder()
+                .name("hedged")
+                .maxConcurrent(1)
+                .rejection(RejectionPolicy.callerRuns())
+                .build();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicReference<String> secondThread = new AtomicReference<>();
+        AtomicReference<String> result = new AtomicReference<>();
+        Monad.wrapAsync("value", AsyncContext.builder().bulkhead(bulkhead).build())
+                .applyAsyncWaitOtherHedgedAndConsume(value -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        sleep(500);
+                        return "slow";
+                    }
+                    secondThread.set(Thread.currentThread().getName());
+                    return "fast";
+                }, result::set, policy)
+                .unwrap();
+        Assertions.assertEquals("fast", result.get());
+        Assertions.assertNotEquals("monad-scheduler", secondThread.get());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testOrderedChainIsNotHedged() {
+        HedgePolicy policy = HedgePolicy.after(Duration.ofMillis(10), 1d);
+        AtomicReference<Integer> result = new AtomicReference<>();
+        Monad.wrapAsync(1, AsyncContext.builder().ordered(true).build())
+                .applyAsyncWaitOtherHedgedAndConsume(value -> {
+                    sleep(100);
+                    return value + 1;
+                }, result::set, policy)
+                .unwrap();
+        Assertions.assertEquals(2, result.get());
+        Assertions.assertEquals(1, policy.calls());
+        Assertions.assertEquals(0, policy.hedges());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 6:40 PM
+ */
+public class HistogramMetricsTest {
+
+    @AfterEach
+    public void uninstall() {
+        MonadMetrics.uninstall();
+    }
+
+    @Test
+    public void testDistribution() {
+        HistogramMetrics metrics = new HistogramMetrics();
+        for (int i = 1; i <= 100; i++)
+            metrics.onStage("applyAsync", 0L, i * 1_000L, i % 10 == 0 ? new IllegalStateException() : null, i);
+
+        HistogramMetrics.StageSnapshot snapshot = metrics.snapshot().get("applyAsync");
+        Assertions.assertEquals(100, snapshot.getCount());
+        Assertions.assertEquals(10, snapshot.getFailures());
+        Assertions.assertEquals(100, snapshot.getParties());
+        Assertions.assertEquals(100_000L, snapshot.getRun().getMax());
+        Assertions.assertEquals(50_500d, snapshot.getRun().mean());
+        long median = snapshot.getRun().percentile(0.5d);
+        Assertions.assertTrue(median >= 50_000L && median < 100_000L, String.valueOf(median));
+        Assertions.assertEquals(100_000L, snapshot.getRun().percentile(1d));
+        Assertions.assertEquals(100, snapshot.getQueue().buckets()[0]);
+    }
+
+    @Test
+    @Timeout(10)
+    public void testStagesAreRecorded() throws InterruptedException {
+        HistogramMetrics metrics = new HistogramMetrics();
+        MonadMetrics.install(metrics);
+
+        Monad.wrapAsync(1)
+                .applyAsync(value -> {
+                })
+                .applyAsyncAndWaitOther(value -> {
+                    throw new IllegalStateException("expected");
+                })
+                .mutable(value -> value + 1)
+                .unwrap();
+
+        Map<String, HistogramMetrics.StageSnapshot> snapshot = metrics.snapshot();
+        while (snapshot.size() < 3) {
+            TimeUnit.MILLISECONDS.sleep(5);
+            snapshot = metrics.snapshot();
+        }
+        Assertions.assertEquals(1, snapshot.get("applyAsync").getCount());
+        Assertions.assertEquals(1, snapshot.get("applyAsyncAndWaitOther").getFailures());
+        Assertions.assertEquals(1, snapshot.get("mutable").getCount());
+    }
+
+    @Test
+    public void testNothingRecordedWhenUninstalled() {
+        HistogramMetrics metrics = new HistogramMetrics();
+        MonadMetrics.install(metrics);
+        MonadMetrics.uninstall();
+
+        Monad.wrapAsync(1)
+                .applyAsyncAndWaitOther(value -> {
+                })
+                .mutable(value -> value + 1)
+                .unwrap();
+
+        Assertions.assertTrue(metrics.snapshot().isEmpty());
+    }
+
+}
@@ -0,0 +1,87 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 5:40 PM
+ */
+public class IntMonadTest {
+
+    @Test
+    public void testSyncChain() {
+        AtomicInteger stored = new AtomicInteger();
+        int result = IntMonad.wrap(20)
+                .mutable(value -> value + 1)
+                .applyAndStore(value -> value * 2, stored)
+                .mutable(value -> value * 2)
+                .unwrap();
+        Assertions.assertEquals(42, result);
+        Assertions.assertEquals(42, stored.get());
+    }
+
+    @Test
+    public void testEmpty() {
+        AtomicBoolean called = new AtomicBoolean();
+        IntMonad monad = IntMonad.empty()
+                .apply(value -> called.set(true))
+                .mutable(value -> value + 1);
+        Assertions.assertTrue(monad.isEmpty());
+        Assertions.assertFalse(called.get());
+        Assertions.assertEquals(7, monad.orElse(7));
+        Assertions.assertThrows(NoSuchElementException.class, monad::unwrap);
+        Assertions.assertEquals(3, monad.mutableIfEmpty(() -> 3).unwrap());
+    }
+
+    @Test
+    public void testSyncEmptyConversionsAreShared() {
+        Monad<String, String> empty = Monad.empty();
+        Assertions.assertSame(IntMonad.empty(), empty.mutableToInt(String::length));
+        Assertions.assertSame(LongMonad.empty(), empty.mutableToLong(String::length));
+        Assertions.assertSame(DoubleMonad.empty(), empty.mutableToDouble(String::length));
+        Assertions.assertSame(LongMonad.empty(), IntMonad.empty().mutableToLong(value -> value));
+        Assertions.assertSame(DoubleMonad.empty(), LongMonad.empty().mutableToDouble(value -> value));
+        Assertions.assertSame(IntMonad.empty(), DoubleMonad.empty().mutableToInt(value -> (int) value));
+        Assertions.assertNotSame(IntMonad.empty(), Monad.<String, String>emptyAsync().mutableToInt(String::length));
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testWaitOtherAddsIntoAdder() {
+        LongAdder adder = new LongAdder();
+        IntMonad monad = IntMonad.wrapAsync(5);
+        for (int i = 0; i < 1_000; i++) {
+            monad.applyAsyncWaitOtherAndAdd(value -> value, adder);
+        }
+        monad.unwrap();
+        Assertions.assertEquals(5_000, adder.sum());
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testConversionsKeepTheChain() {
+        DoubleAdder adder = new DoubleAdder();
+        LongAdder longAdder = new LongAdder();
+        String result = Monad.wrapAsync("HELLO")
+                .mutableToInt(String::length)
+                .mutableToLong(value -> value * 1_000_000_000L)
+                .applyAsyncWaitOtherAndAdd(value -> value, longAdder)
+                .mutableToDouble(value -> value / 2D)
+                .applyAsyncWaitOtherAndAdd(value -> value, adder)
+                .mutableToObj(String::valueOf)
+                .unwrap();
+        Assertions.assertEquals("2.5E9", result);
+        Assertions.assertEquals(5_000_000_000L, longAdder.sum());
+        Assertions.assertEquals(2.5E9, adder.sum());
+    }
+
+}
@@ -0,0 +1,108 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 3:50 PM
+ */
+public class LazyMonadTest {
+    private final static String TEST_VALUE = "HELLO";
+
+    @Test
+    public void testNothingRunsBeforeUnwrap() {
+        AtomicInteger calls = new AtomicInteger();
+        LazyMonad<Integer> monad = Monad.lazy(TEST_VALUE)
+                .apply(value -> calls.incrementAndGet())
+                .mutable(String::length)
+                .applyAsyncAndWaitOther(value -> calls.incrementAndGet());
+        Assertions.assertEquals(0, calls.get());
+        Assertions.assertEquals(TEST_VALUE.length(), monad.unwrap());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testStagesAreFused() {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        AtomicReference<Integer> length = new AtomicReference<>();
+        LazyMonad<String> monad = Monad.lazy(TEST_VALUE)
+                .mutable(String::toLowerCase)
+                .apply(value -> threads.add(Thread.currentThread().getName()))
+                .mutable(String::trim)
+                .applyAsyncAndWaitOther(value -> threads.add(Thread.currentThread().getName()))
+                .applyAsyncWaitOtherAndStore(String::length, length)
+                .applyAsyncAndWaitOther(value -> threads.add(Thread.currentThread().getName()));
+        Assertions.assertEquals(2, monad.size());
+        Assertions.assertEquals(TEST_VALUE.toLowerCase(), monad.unwrap());
+        Assertions.assertEquals(TEST_VALUE.length(), length.get());
+        Assertions.assertEquals(3, threads.size());
+        Assertions.assertEquals(threads.get(1), threads.get(2));
+    }
+
+    @Test
+    public void testUnusedBranchesAreDropped() {
+        AtomicBoolean called = new AtomicBoolean();
+        LazyMonad<String> monad = Monad.lazy(TEST_VALUE)
+                .applyIfNull(() -> called.set(true));
+        Assertions.assertEquals(0, monad.size());
+        Assertions.assertEquals(TEST_VALUE, monad.unwrap());
+
+        LazyMonad<Integer> empty = Monad.lazyOfNullable((String) null)
+                .apply(value -> called.set(true))
+                .mutable(String::length)
+                .applyAsyncAndWaitOther(value -> called.set(true));
+        Assertions.assertEquals(0, empty.size());
+        Assertions.assertNull(empty.unwrap());
+        Assertions.assertFalse(called.get());
+    }
+
+    @Test
+    public void testNullAfterMutableSkipsValueStages() {
+        AtomicBoolean called = new AtomicBoolean();
+        String result = Monad.lazy(TEST_VALUE)
+                .mutable(value -> (String) null)
+                .apply(value -> called.set(true))
+                .applyIfNull(() -> called.set(false))
+                .mutableIfNull(() -> "EMPTY")
+                .unwrap();
+        Assertions.assertEquals("EMPTY", result);
+        Assertions.assertFalse(called.get());
+    }
+
+    @Test
+    public void testMutableIfNullMatchesMonad() {
+        Assertions.assertEquals(Monad.wrap(TEST_VALUE).mutableIfNull(() -> "EMPTY").unwrap(),
+                Monad.lazy(TEST_VALUE).mutableIfNull(() -> "EMPTY").unwrap());
+        Integer length = Monad.lazyOfNullable((String) null)
+                .mutableIfNull(TEST_VALUE::length)
+                .unwrap();
+        Assertions.assertEquals(TEST_VALUE.length(), length);
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testErrorOfFusedActionIsReported() {
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        AtomicBoolean called = new AtomicBoolean();
+        Monad.lazy(TEST_VALUE, AsyncContext.builder().errorHandler(failures::add).build())
+                .applyAsyncAndWaitOther(value -> {
+                    throw new AssertionError("expected");
+                })
+                .applyAsyncAndWaitOther(value -> called.set(true))
+                .unwrap();
+        Assertions.assertEquals(1, failures.size());
+        Assertions.assertTrue(failures.get(0) instanceof AssertionError);
+        Assertions.assertTrue(called.get());
+    }
+
+}
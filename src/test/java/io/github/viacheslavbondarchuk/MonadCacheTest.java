@@ -0,0 +1,180 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 9:30 PM
+ */
+public class MonadCacheTest {
+
+    @Test
+    public void testMutableCached() {
+        MonadCache<String, Integer> cache = MonadCache.of(16);
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            int length = Monad.wrap("hello")
+                    .mutableCached(value -> {
+                        calls.incrementAndGet();
+                        return value.length();
+                    }, cache)
+                    .unwrap();
+            Assertions.assertEquals(5, length);
+        }
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(1, cache.misses());
+        Assertions.assertEquals(2, cache.hits());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testConcurrentChainsShareInFlightComputation() throws InterruptedException {
+        MonadCache<String, Integer> cache = MonadCache.of(16);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        LongAdder sum = new LongAdder();
+        List<Monad<String, ?>> chains = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            chains.add(Monad.wrapAsync("key")
+                    .applyAsyncWaitOtherCachedAndConsume(value -> {
+                        calls.incrementAndGet();
+                        await(release);
+                        return 21;
+                    }, cache, value -> sum.add(value)));
+        }
+        release.countDown();
+        for (Monad<String, ?> chain : chains)
+            chain.unwrap();
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(21 * chains.size(), sum.sum());
+        Assertions.assertEquals(chains.size() - 1, cache.hits());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testUnboundedSize() {
+        MonadCache<Integer, Integer> cache = MonadCache.of(Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++)
+            Assertions.assertEquals(i, cache.get(i, value -> value));
+        Assertions.assertEquals(10, cache.size());
+        Assertions.assertEquals(0, cache.evictions());
+    }
+
+    @Test
+    public void testSizeAndTimeEviction() throws InterruptedException {
+        MonadCache<Integer, Integer> bySize = MonadCache.of(4);
+        for (int i = 0; i < 10; i++)
+            bySize.get(i, value -> value);
+        Assertions.assertEquals(4, bySize.size());
+        Assertions.assertEquals(6, bySize.evictions());
+
+        MonadCache<Integer, Integer> byTime = MonadCache.of(4, Duration.ofMillis(50));
+        byTime.get(1, value -> value);
+        TimeUnit.MILLISECONDS.sleep(100);
+        byTime.get(1, value -> value);
+        Assertions.assertEquals(2, byTime.misses());
+        Assertions.assertEquals(1, byTime.evictions());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testInFlightEntryIsNotEvicted() throws InterruptedException {
+        MonadCache<Integer, Integer> cache = MonadCache.of(1);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread owner = new Thread(() -> cache.get(0, value -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return value;
+        }));
+        owner.start();
+        started.await();
+        cache.get(1, value -> value);
+        cache.get(2, value -> value);
+        Thread waiter = new Thread(() -> cache.get(0, value -> calls.incrementAndGet()));
+        waiter.start();
+        release.countDown();
+        owner.join();
+        waiter.join();
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testFailureIsNotCached() {
+        MonadCache<String, Integer> cache = MonadCache.of(4);
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("key", value -> {
+            throw new IllegalStateException("expected");
+        }));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(3, cache.get("key", String::length));
+    }
+
+    @Test
+    public void testErrorIsNotCached() {
+        MonadCache<String, Integer> cache = MonadCache.of(4);
+        Assertions.assertThrows(AssertionError.class, () -> cache.get("key", value -> {
+            throw new AssertionError("expected");
+        }));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(3, cache.get("key", String::length));
+    }
+
+    @Test
+    @Timeout(10)
+    public void testWaiterRecomputesWhenOwnerChainIsCancelled() {
+        MonadCache<String, Integer> cache = MonadCache.of(16);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Integer> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Monad<String, ?> owner = Monad.wrapAsync("key", AsyncContext.builder().timeout(Duration.ofMillis(100)).build())
+                .applyAsyncWaitOtherCachedAndConsume(value -> {
+                    if (calls.incrementAndGet() == 1) {
+                        started.countDown();
+                        sleep(5_000);
+                    }
+                    return 21;
+                }, cache, value -> {
+                });
+        await(started);
+        Monad<String, ?> waiter = Monad.wrapAsync("key", AsyncContext.builder().errorHandler(failure::set).build())
+                .applyAsyncWaitOtherCachedAndConsume(value -> 42, cache, result::set);
+        Assertions.assertThrows(DeadlineExceededException.class, owner::unwrap);
+        Assertions.assertEquals("key", waiter.unwrap());
+        Assertions.assertEquals(42, result.get());
+        Assertions.assertNull(failure.get());
+        Assertions.assertEquals(42, cache.get("key", value -> 0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package io.github.viacheslavbondarchuk;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 7:30 PM
+ */
+public class MonadEventsTest {
+    private static final String PREFIX = "io.github.viacheslavbondarchuk.";
+
+    @Test
+    @Timeout(30)
+    public void testChainEvents() throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PREFIX + "StageSubmitted");
+            recording.enable(PREFIX + "StageCompleted").withThreshold(Duration.ZERO);
+            recording.enable(PREFIX + "BarrierWait").withThreshold(Duration.ZERO);
+            recording.enable(PREFIX + "StageFailed");
+            recording.start();
+
+            Monad.wrapAsync(1, executor)
+                    .applyAsyncAndWaitOther(value -> {
+                    })
+                    .applyAsyncAndWaitOther(value -> {
+                        throw new IllegalStateException("expected");
+                    })
+                    .unwrap();
+            // completions are committed after dependents of the stage ran, drain the executor before stopping
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            recording.stop();
+            Path file = Files.createTempFile("monad", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        Set<Long> chains = events.stream()
+                .filter(event -> event.getEventType().getName().startsWith(PREFIX))
+                .map(event -> event.getLong("chainId"))
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(1, chains.size());
+        Assertions.assertNotEquals(0L, chains.iterator().next());
+        Assertions.assertEquals(2, count(events, "StageSubmitted"));
+        Assertions.assertEquals(2, count(events, "StageCompleted"));
+        Assertions.assertEquals(1, count(events, "BarrierWait"));
+        RecordedEvent failed = events.stream()
+                .filter(event -> event.getEventType().getName().equals(PREFIX + "StageFailed"))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals("expected", failed.getString("message"));
+        Assertions.assertEquals(IllegalStateException.class.getName(), failed.getClass("exceptionClass").getName());
+    }
+
+    @Test
+    @Timeout(30)
+    public void testSyncMonadStageEvents() throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(PREFIX + "StageSubmitted");
+            recording.enable(PREFIX + "StageCompleted").withThreshold(Duration.ZERO);
+            recording.start();
+
+            Monad.wrap(1)
+                    .applyAsyncAndWaitOther(value -> {
+                    }, executor);
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            recording.stop();
+            Path file = Files.createTempFile("monad", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        Assertions.assertEquals(1, count(events, "StageSubmitted"));
+        Assertions.assertEquals(1, count(events, "StageCompleted"));
+        events.stream()
+                .filter(event -> event.getEventType().getName().startsWith(PREFIX))
+                .forEach(event -> Assertions.assertEquals(0L, event.getLong("chainId")));
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(PREFIX + name))
+                .count();
+    }
+
+}
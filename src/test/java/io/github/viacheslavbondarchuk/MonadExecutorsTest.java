@@ -0,0 +1,55 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 10:40 AM
+ */
+public class MonadExecutorsTest {
+
+    /**
+     * Set by the java21 profile, which runs this test against the multi-release jar
+     */
+    private static final boolean VIRTUAL_THREADS_EXPECTED = Boolean.getBoolean("monad.virtualThreads");
+
+    @Test
+    public void testVirtualThreadsUnsupportedOnBaseline() {
+        Assumptions.assumeFalse(MonadExecutors.isVirtualThreadsSupported());
+        Assertions.assertFalse(VIRTUAL_THREADS_EXPECTED, "Java 21 layer of the multi-release jar wasn't loaded");
+        Assertions.assertThrows(UnsupportedOperationException.class, MonadExecutors::virtualThreads);
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testManyBlockingStagesOnVirtualThreads() {
+        if (VIRTUAL_THREADS_EXPECTED)
+            Assertions.assertTrue(MonadExecutors.isVirtualThreadsSupported());
+        Assumptions.assumeTrue(MonadExecutors.isVirtualThreadsSupported());
+        AtomicInteger completed = new AtomicInteger();
+        Monad<String, ?> monad = Monad.wrapAsync("HELLO", MonadExecutors.virtualThreads());
+        for (int i = 0; i < 10_000; i++) {
+            monad.applyAsyncAndWaitOther(() -> {
+                sleep(1000);
+                completed.incrementAndGet();
+            });
+        }
+        monad.unwrap();
+        Assertions.assertEquals(10_000, completed.get());
+    }
+
+    private void sleep(long timeout) {
+        try {
+            Thread.sleep(timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/17/26
+ * time: 1:50 AM
+ */
+public class MonadPipelineTest {
+
+    @AfterEach
+    public void uninstall() {
+        MonadErrorHandler.uninstall();
+    }
+
+    @Test
+    @Timeout(10)
+    public void testValuesGoThroughEveryStage() throws InterruptedException {
+        LongAdder sum = new LongAdder();
+        LongAdder seen = new LongAdder();
+        MonadPipeline<Integer> pipeline = MonadPipeline.<Integer>builder()
+                .mutable("increment", value -> value + 1, 2, 128)
+                .apply("count", value -> seen.increment(), 1, 128)
+                .applyAndConsume("sum", value -> (long) value, sum::add, 3, 128)
+                .batchSize(16)
+                .build();
+        for (int i = 0; i < 10_000; i++)
+            pipeline.submit(i);
+        pipeline.close();
+        Assertions.assertEquals(10_000, seen.sum());
+        Assertions.assertEquals(10_000L * 10_001 / 2, sum.sum());
+        Assertions.assertThrows(IllegalStateException.class, () -> pipeline.submit(1));
+    }
+
+    @Test
+    @Timeout(10)
+    public void testSlowStageBacksUpItsQueue() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        MonadPipeline<Integer> pipeline = MonadPipeline.<Integer>builder()
+                .mutable("fast", value -> value, 1, 4)
+                .apply("slow", value -> await(release), 1, 4)
+                .batchSize(1)
+                .build();
+        int submitted = 0;
+        while (pipeline.offer(submitted, Duration.ofMillis(100)))
+            submitted++;
+        Map<String, Integer> depths = pipeline.queueDepths();
+        Assertions.assertEquals(List.of("fast", "slow"), List.copyOf(depths.keySet()));
+        Assertions.assertEquals(4, depths.get("fast"));
+        Assertions.assertEquals(4, depths.get("slow"));
+        release.countDown();
+        pipeline.shutdown();
+        Assertions.assertTrue(pipeline.awaitTermination(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    @Timeout(10)
+    public void testEmptyAndFailedValuesAreDropped() throws InterruptedException {
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        List<Integer> results = new CopyOnWriteArrayList<>();
+        MonadErrorHandler.install(failures::add);
+        try (MonadPipeline<Integer> pipeline = MonadPipeline.<Integer>builder()
+                .mutable("filter", value -> value % 2 == 0 ? value : null, 1, 16)
+                .mutable("fail", value -> {
+                    if (value == 4)
+                        throw new IllegalStateException("expected");
+                    return value;
+                }, 1, 16)
+                .apply("collect", results::add, 1, 16)
+                .build()) {
+            for (int i = 0; i < 8; i++)
+                pipeline.submit(i);
+        }
+        Assertions.assertEquals(List.of(0, 2, 6), results);
+        Assertions.assertEquals(1, failures.size());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testDeadStageFailsPipeline() throws InterruptedException {
+        MonadPipeline<Integer> pipeline = MonadPipeline.<Integer>builder()
+                .mutable("fail", value -> {
+                    throw new AssertionError("expected");
+                }, 1, 4)
+                .apply("sink", value -> {
+                }, 1, 4)
+                .threadFactory(runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setUncaughtExceptionHandler((t, ex) -> {
+                    });
+                    return thread;
+                })
+                .build();
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 1_000; i++)
+                pipeline.submit(i);
+        });
+        Assertions.assertTrue(pipeline.awaitTermination(Duration.ofSeconds(5)));
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, () -> pipeline.submit(1));
+        Assertions.assertTrue(ex.getCause() instanceof AssertionError);
+    }
+
+    @Test
+    @Timeout(10)
+    public void testRootCauseSurvivesCascade() throws InterruptedException {
+        List<Throwable> uncaught = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        MonadPipeline<Integer> pipeline = MonadPipeline.<Integer>builder()
+                .mutable("pass", value -> value, 1, 4)
+                .apply("fail", value -> {
+                    throw new AssertionError("root");
+                }, 1, 4)
+                .batchSize(1)
+                .threadFactory(runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setUncaughtExceptionHandler((t, ex) -> uncaught.add(ex));
+                    threads.add(thread);
+                    return thread;
+                })
+                .build();
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 1_000; i++)
+                pipeline.submit(i);
+        });
+        Assertions.assertTrue(pipeline.awaitTermination(Duration.ofSeconds(5)));
+        IllegalStateException ex = Assertions.assertThrows(IllegalStateException.class, () -> pipeline.submit(1));
+        Assertions.assertEquals("root", ex.getCause().getMessage());
+        for (Thread thread : threads)
+            thread.join();
+        Assertions.assertEquals(1, uncaught.size());
+        Assertions.assertTrue(uncaught.get(0) instanceof AssertionError);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 8:40 PM
+ */
+public class MonadPublisherTest {
+
+    @Test
+    @Timeout(10)
+    public void testItemsArePublishedInOrderWithBoundedDemand() {
+        Collector collector = new Collector(64);
+        RangePublisher upstream = new RangePublisher(1_000, collector.delivered);
+        Monad.wrapPublisher(upstream,
+                        monad -> monad
+                                .applyAsyncAndWaitOther(value -> {
+                                })
+                                .mutable(value -> value * 2),
+                        AsyncContext.DEFAULT, 8)
+                .subscribe(collector);
+
+        List<Integer> items = collector.result.join();
+        Assertions.assertEquals(1_000, items.size());
+        for (int i = 0; i < items.size(); i++)
+            Assertions.assertEquals(i * 2, items.get(i));
+        Assertions.assertTrue(upstream.maxAhead.get() <= 8, String.valueOf(upstream.maxAhead.get()));
+        Assertions.assertEquals(1_000, upstream.requested.get());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testEmptyResultsAreSkipped() {
+        Collector collector = new Collector(Long.MAX_VALUE);
+        Monad.<Integer, Integer>wrapPublisher(new RangePublisher(10, new AtomicInteger()),
+                        monad -> monad.mutable(value -> value % 2 == 0 ? value : null))
+                .subscribe(collector);
+        Assertions.assertEquals(List.of(0, 2, 4, 6, 8), collector.result.join());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testFailureOfPipelineIsPublished() {
+        Collector collector = new Collector(Long.MAX_VALUE);
+        Monad.<Integer, Integer>wrapPublisher(new RangePublisher(10, new AtomicInteger()),
+                        monad -> monad.mutable(value -> {
+                            if (value == 3)
+                                throw new IllegalStateException("expected");
+                            return value;
+                        }))
+                .subscribe(collector);
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            try {
+                collector.result.join();
+            } catch (RuntimeException ex) {
+                throw ex.getCause();
+            }
+        });
+        Assertions.assertEquals(List.of(0, 1, 2), collector.items);
+    }
+
+    @Test
+    @Timeout(10)
+    public void testNonPositiveRequestIsSignalledAsError() {
+        Collector collector = new Collector(0);
+        Monad.<Integer, Integer>wrapPublisher(new RangePublisher(10, new AtomicInteger()), monad -> monad)
+                .subscribe(collector);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            try {
+                collector.result.join();
+            } catch (RuntimeException ex) {
+                throw ex.getCause();
+            }
+        });
+        Assertions.assertTrue(collector.items.isEmpty());
+    }
+
+    private final class Collector implements Flow.Subscriber<Integer> {
+        private final long batch;
+        private final List<Integer> items = new ArrayList<>();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private Collector(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+            delivered.incrementAndGet();
+            if (batch != Long.MAX_VALUE)
+                subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(items);
+        }
+    }
+
+    /**
+     * Emits 0 until count on the requesting thread, remembers how far requests ran ahead of items delivered downstream
+     */
+    private static final class RangePublisher implements Flow.Publisher<Integer> {
+        private final int count;
+        private final AtomicInteger delivered;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicLong maxAhead = new AtomicLong();
+
+        private RangePublisher(int count, AtomicInteger delivered) {
+            this.count = count;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            AtomicInteger next = new AtomicInteger();
+            AtomicInteger wip = new AtomicInteger();
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    long total = requested.accumulateAndGet(n, (current, add) -> Math.min(count, current + add));
+                    maxAhead.accumulateAndGet(total - delivered.get(), Math::max);
+                    if (wip.getAndIncrement() != 0)
+                        return;
+                    do {
+                        while (next.get() < requested.get())
+                            subscriber.onNext(next.getAndIncrement());
+                        if (next.get() == count) {
+                            subscriber.onComplete();
+                            return;
+                        }
+                    } while (wip.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                    requested.set(Long.MIN_VALUE);
+                }
+            });
+        }
+    }
+
+}
@@ -5,6 +5,17 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * author: viacheslavbondarchuk
  * date: 8/24/21
@@ -127,4 +138,274 @@ public class MonadTest {
         Assertions.assertEquals(TEST_VALUE.hashCode(), hashCode);
     }
 
+    @Test
+    @SneakyThrows
+    @Timeout(value = 6)
+    public void testExecutorIsCarriedDownTheChain() {
+        ExecutorService chainExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "chain-executor"));
+        ExecutorService stageExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "stage-executor"));
+        AtomicReference<String> chainThread = new AtomicReference<>();
+        AtomicReference<String> stageThread = new AtomicReference<>();
+        try {
+            Monad.wrapAsync(TEST_VALUE, chainExecutor)
+                    .mutable(String::length)
+                    .applyAsyncWaitOtherAndStore(v -> Thread.currentThread().getName(), chainThread)
+                    .rollbackAndMutable(String::toLowerCase)
+                    .applyAsyncWaitOtherAndStore(v -> Thread.currentThread().getName(), stageThread, stageExecutor)
+                    .unwrap();
+        } finally {
+            chainExecutor.shutdown();
+            stageExecutor.shutdown();
+        }
+        chainExecutor.awaitTermination(4, TimeUnit.SECONDS);
+        stageExecutor.awaitTermination(4, TimeUnit.SECONDS);
+        Assertions.assertEquals("chain-executor", chainThread.get());
+        Assertions.assertEquals("stage-executor", stageThread.get());
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testUnwrapWaitsForStageWhichHasNotStartedYet() {
+        AtomicReference<String> result = new AtomicReference<>();
+        Monad.wrapAsync(TEST_VALUE, runnable -> new Thread(() -> {
+                    sleep2();
+                    runnable.run();
+                }).start())
+                .applyAsyncWaitOtherAndStore(String::toLowerCase, result)
+                .unwrap();
+        Assertions.assertEquals(TEST_VALUE.toLowerCase(), result.get());
+    }
+
+    @Test
+    @Timeout(value = 30)
+    public void testWaitOtherIsNotLimitedByPhaserParties() {
+        AtomicInteger completed = new AtomicInteger();
+        Monad<String, ?> monad = Monad.wrapAsync(TEST_VALUE);
+        for (int i = 0; i < 70_000; i++) {
+            monad.applyAsyncAndWaitOther(v -> completed.incrementAndGet());
+        }
+        monad.unwrap();
+        Assertions.assertEquals(70_000, completed.get());
+    }
+
+    @Test
+    @Timeout(value = 3)
+    public void testUnwrapWithTimeoutCancelsStages() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean started = new AtomicBoolean();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Monad<String, ?> monad = Monad.wrapAsync(TEST_VALUE, executor)
+                .applyAsyncAndWaitOther(() -> {
+                    try {
+                        Thread.sleep(4000);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                    }
+                })
+                .applyAsyncAndWaitOther(() -> started.set(true));
+        DeadlineExceededException ex = Assertions.assertThrows(DeadlineExceededException.class,
+                () -> monad.unwrap(Duration.ofMillis(500)));
+        Assertions.assertEquals(Duration.ofMillis(500), ex.getTimeout());
+        sleep(200);
+        executor.shutdown();
+        Assertions.assertTrue(interrupted.get());
+        Assertions.assertFalse(started.get());
+    }
+
+    @Test
+    @Timeout(value = 3)
+    public void testChainDeadlineStopsNewStages() {
+        AtomicBoolean started = new AtomicBoolean();
+        Monad<String, ?> monad = Monad.wrapAsync(TEST_VALUE, AsyncContext.builder()
+                        .timeout(Duration.ofMillis(500))
+                        .build())
+                .applyAsyncAndWaitOther(this::sleep4);
+        Assertions.assertThrows(DeadlineExceededException.class, monad::await);
+        monad.applyAsyncAndWaitOther(() -> started.set(true));
+        Assertions.assertThrows(DeadlineExceededException.class, monad::unwrap);
+        Assertions.assertFalse(started.get());
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testUnwrapWithTimeoutReturnsValueInTime() {
+        String hello = Monad.wrapAsync(TEST_VALUE)
+                .applyAsyncAndWaitOther(this::sleep2)
+                .unwrap(Duration.ofSeconds(4));
+        Assertions.assertEquals(TEST_VALUE, hello);
+    }
+
+    @Test
+    public void testRollbackWithoutHistory() {
+        Monad<Integer, String> monad = Monad.wrap(TEST_VALUE)
+                .history(HistoryPolicy.none())
+                .mutable(String::length);
+        Assertions.assertEquals(TEST_VALUE.length(), monad.unwrap());
+        Assertions.assertNull(monad.rollback().unwrap());
+    }
+
+    @Test
+    public void testRollbackWithLastHistory() {
+        Monad<String, String> monad = Monad.wrap("0")
+                .history(HistoryPolicy.last(2))
+                .mutable(value -> value + "1")
+                .mutable(value -> value + "2")
+                .mutable(value -> value + "3")
+                .mutable(value -> value + "4");
+        Monad<String, String> first = monad.rollback();
+        Monad<String, String> second = first.rollback();
+        Assertions.assertEquals("0123", first.unwrap());
+        Assertions.assertEquals("012", second.unwrap());
+        Assertions.assertNull(second.rollback().unwrap());
+    }
+
+    @Test
+    public void testLastHistoryDepthAlongTheChain() {
+        for (int i = 1; i <= 20; i++) {
+            Monad<Integer, Integer> monad = Monad.<Integer, Integer>wrap(0).history(HistoryPolicy.last(3));
+            for (int step = 0; step < i; step++)
+                monad = monad.mutable(value -> value + 1);
+            Monad<Integer, Integer> rolledBack = monad;
+            for (int depth = 1; depth <= Math.min(i, 3); depth++) {
+                rolledBack = rolledBack.rollback();
+                Assertions.assertEquals(i - depth, rolledBack.unwrap());
+            }
+            if (i > 3)
+                Assertions.assertNull(rolledBack.rollback().unwrap());
+        }
+    }
+
+    @Test
+    public void testHistoryBranchKeepsOriginalHistory() {
+        Monad<Integer, Integer> full = Monad.wrap(1)
+                .mutable(value -> value + 1)
+                .mutable(value -> value + 1)
+                .mutable(value -> value + 1);
+        Monad<Integer, Integer> last = full.history(HistoryPolicy.last(1)).mutable(value -> value * 10);
+        Assertions.assertEquals(40, last.unwrap());
+        Assertions.assertEquals(2, full.rollback().rollback().unwrap());
+
+        Monad<Integer, Integer> base = Monad.wrap(1)
+                .history(HistoryPolicy.last(2))
+                .mutable(value -> value + 1)
+                .mutable(value -> value + 1);
+        base.mutable(value -> value + 1).mutable(value -> value + 1);
+        Assertions.assertEquals(2, base.mutable(value -> value * 10).rollback().rollback().unwrap());
+    }
+
+    @Test
+    public void testRollbackWithWeakHistory() {
+        Monad<String, ?> monad = Monad.wrap(TEST_VALUE)
+                .history(HistoryPolicy.weak());
+        Assertions.assertEquals(TEST_VALUE, monad.mutable(String::toLowerCase).rollback().unwrap());
+        Assertions.assertEquals(TEST_VALUE.hashCode(), monad.mutable(String::toLowerCase)
+                .rollbackAndMutable(String::hashCode)
+                .unwrap());
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testLongChainWithLastHistory() {
+        Monad<Integer, Integer> monad = Monad.wrap(0)
+                .history(HistoryPolicy.last(1))
+                .mutable(value -> value);
+        for (int i = 0; i < 1_000_000; i++) {
+            monad = monad.mutable(value -> value + 1);
+        }
+        Assertions.assertEquals(1_000_000, monad.unwrap());
+        Assertions.assertEquals(999_999, monad.rollback().unwrap());
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testUnwrapAsyncCompletesAfterWaitOther() {
+        AtomicBoolean done = new AtomicBoolean();
+        CompletableFuture<String> unwrapped = Monad.wrapAsync(TEST_VALUE)
+                .applyAsyncAndWaitOther(() -> {
+                    sleep(300);
+                    done.set(true);
+                })
+                .unwrapAsync();
+        Assertions.assertEquals(TEST_VALUE, unwrapped.join());
+        Assertions.assertTrue(done.get());
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testUnwrapAsyncWithTimeoutCompletesExceptionally() {
+        CompletableFuture<String> unwrapped = Monad.wrapAsync(TEST_VALUE)
+                .applyAsyncAndWaitOther(this::sleep2)
+                .unwrapAsync(Duration.ofMillis(200));
+        ExecutionException ex = Assertions.assertThrows(ExecutionException.class, unwrapped::get);
+        Assertions.assertTrue(ex.getCause() instanceof DeadlineExceededException);
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testApplyAsyncAndCompleteComposes() {
+        CompletableFuture<Integer> length = new CompletableFuture<>();
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        Monad.wrapAsync(TEST_VALUE)
+                .applyAsyncWaitOtherAndComplete(String::length, length)
+                .applyAsyncAndComplete(value -> {
+                    throw new IllegalStateException(value);
+                }, failed);
+        Assertions.assertEquals(TEST_VALUE.length() * 2, length.thenApply(value -> value * 2).join());
+        Assertions.assertThrows(CompletionException.class, failed::join);
+    }
+
+    @Test
+    @Timeout(value = 6)
+    public void testFailFastCancelsSiblings() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicBoolean started = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Monad<String, ?> monad = Monad.wrapAsync(TEST_VALUE, AsyncContext.builder()
+                        .executor(executor)
+                        .failFast(true)
+                        .build())
+                .applyAsyncAndWaitOther(() -> {
+                    try {
+                        Thread.sleep(4000);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                        throw new IllegalStateException("sibling");
+                    }
+                })
+                .applyAsyncAndWaitOther(() -> {
+                    sleep(100);
+                    throw new IllegalArgumentException("first");
+                })
+                .applyAsyncAndWaitOther(() -> started.set(true));
+        IllegalArgumentException ex = Assertions.assertThrows(IllegalArgumentException.class, monad::unwrap);
+        Assertions.assertEquals("first", ex.getMessage());
+        sleep(200);
+        executor.shutdown();
+        Assertions.assertTrue(interrupted.get());
+        Assertions.assertFalse(started.get());
+        Assertions.assertEquals(1, ex.getSuppressed().length);
+        Assertions.assertEquals("sibling", ex.getSuppressed()[0].getMessage());
+    }
+
+    @Test
+    public void testEqualityByValueOnly() {
+        Monad<Integer, Integer> deep = Monad.wrap(0);
+        for (int i = 0; i < 100_000; i++)
+            deep = deep.mutable(value -> value + 1).rollbackAndMutable(value -> value + 1);
+        Monad<Integer, ?> shallow = Monad.wrap(100_000);
+        Assertions.assertEquals(shallow, deep);
+        Assertions.assertEquals(shallow.hashCode(), deep.hashCode());
+        Assertions.assertNotEquals(Monad.wrap(1), Monad.wrap(2));
+    }
+
+    @Test
+    public void testSyncEmptiesAreShared() {
+        Assertions.assertSame(Monad.empty(), Monad.wrapOfNullable(null));
+        Monad<String, ?> withoutHistory = Monad.<String, String>empty().history(HistoryPolicy.none());
+        Assertions.assertSame(withoutHistory, withoutHistory.mutable(String::trim));
+        Assertions.assertNull(Monad.empty().rollback().unwrap());
+        Assertions.assertNull(Monad.empty().rollback().rollback().unwrap());
+        Assertions.assertNotSame(Monad.emptyAsync(), Monad.emptyAsync());
+    }
+
 }
@@ -0,0 +1,227 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/17/26
+ * time: 3:05 AM
+ */
+public class SerialExecutorTest {
+
+    @Test
+    @Timeout(10)
+    public void testSubmissionOrder() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            SerialExecutor serial = new SerialExecutor(pool);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch done = new CountDownLatch(10_000);
+            for (int i = 0; i < 10_000; i++) {
+                int index = i;
+                serial.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    order.add(index);
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            done.await();
+            Assertions.assertEquals(IntStream.range(0, 10_000).boxed().collect(Collectors.toList()), order);
+            Assertions.assertEquals(1, maxRunning.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    public void testOrderedChain() {
+        AsyncContext context = AsyncContext.builder().ordered(true).build();
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Monad<Integer, ?> monad = Monad.wrapAsync(1, context);
+        for (int i = 0; i < 50; i++) {
+            int index = i;
+            monad = monad.applyAsyncAndWaitOther(value -> {
+                sleep(50 - index % 10);
+                order.add(index);
+            });
+        }
+        monad.unwrap();
+        Assertions.assertEquals(IntStream.range(0, 50).boxed().collect(Collectors.toList()), order);
+    }
+
+    @Test
+    @Timeout(10)
+    public void testOrderedChainsRunInParallel() {
+        CountDownLatch started = new CountDownLatch(2);
+        AsyncContext context = AsyncContext.builder().ordered(true).build();
+        Monad<Integer, ?> first = Monad.wrapAsync(1, context)
+                .applyAsyncAndWaitOther(value -> awaitBoth(started));
+        Monad<Integer, ?> second = Monad.wrapAsync(2, context)
+                .applyAsyncAndWaitOther(value -> awaitBoth(started));
+        Assertions.assertEquals(1, first.unwrap());
+        Assertions.assertEquals(2, second.unwrap());
+    }
+
+    @Test
+    @Timeout(10)
+    public void testKeyedOrderAndIdleKeysDropped() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            KeyedSerialExecutor<String> keyed = new KeyedSerialExecutor<>(pool);
+            CountDownLatch started = new CountDownLatch(2);
+            List<Integer> a = Collections.synchronizedList(new ArrayList<>());
+            List<Integer> b = Collections.synchronizedList(new ArrayList<>());
+            keyed.execute("a", () -> awaitBoth(started));
+            keyed.execute("b", () -> awaitBoth(started));
+            for (int i = 0; i < 1_000; i++) {
+                int index = i;
+                Monad.wrapAsync(index, keyed.forKey(i % 2 == 0 ? "a" : "b"))
+                        .applyAsync(value -> (value % 2 == 0 ? a : b).add(value));
+            }
+            CountDownLatch done = new CountDownLatch(2);
+            keyed.execute("a", done::countDown);
+            keyed.execute("b", done::countDown);
+            done.await();
+            Assertions.assertEquals(IntStream.range(0, 1_000).filter(i -> i % 2 == 0).boxed().collect(Collectors.toList()), a);
+            Assertions.assertEquals(IntStream.range(0, 1_000).filter(i -> i % 2 == 1).boxed().collect(Collectors.toList()), b);
+            pool.shutdown();
+            Assertions.assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, keyed.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    public void testOrderedChainNeverDrainsOnCaller() {
+        Bulkhead bulkhead = Bulkhead.builder()
+                .name("ordered")
+                .maxConcurrent(1)
+                .rejection(RejectionPolicy.callerRuns())
+                .build();
+        AsyncContext context = AsyncContext.builder().bulkhead(bulkhead).ordered(true).build();
+        CountDownLatch release = new CountDownLatch(1);
+        Monad<Integer, ?> busy = Monad.wrapAsync(0, context)
+                .applyAsyncAndWaitOther(value -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        Monad<Integer, ?> monad = Monad.wrapAsync(1, context);
+        for (int i = 0; i < 10; i++) {
+            int index = i;
+            monad = monad.applyAsyncAndWaitOther(value -> {
+                threads.add(Thread.currentThread());
+                order.add(index);
+            });
+        }
+        monad.unwrap();
+        release.countDown();
+        busy.unwrap();
+        Assertions.assertEquals(IntStream.range(0, 10).boxed().collect(Collectors.toList()), order);
+        threads.forEach(thread -> Assertions.assertNotSame(Thread.currentThread(), thread));
+    }
+
+    @Test
+    @Timeout(10)
+    public void testErrorDoesNotStallQueue() throws InterruptedException {
+        ExecutorService pool = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((t, ex) -> {
+            });
+            return thread;
+        });
+        SerialExecutor serial = new SerialExecutor(pool);
+        CountDownLatch queued = new CountDownLatch(1);
+        CountDownLatch later = new CountDownLatch(1);
+        serial.execute(() -> {
+            throw new AssertionError("expected");
+        });
+        serial.execute(queued::countDown);
+        Assertions.assertTrue(queued.await(5, TimeUnit.SECONDS));
+        serial.execute(() -> {
+            throw new AssertionError("expected");
+        });
+        sleep(50);
+        serial.execute(later::countDown);
+        Assertions.assertTrue(later.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+    }
+
+    @Test
+    @Timeout(10)
+    public void testDroppedTasksAreReportedAndReleased() throws InterruptedException {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        MonadErrorHandler.install(failures::add);
+        try {
+            KeyedSerialExecutor<String> keyed = new KeyedSerialExecutor<>(pool);
+            CountDownLatch queued = new CountDownLatch(1);
+            AtomicInteger ran = new AtomicInteger();
+            keyed.execute("a", () -> {
+                try {
+                    queued.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                ran.incrementAndGet();
+            });
+            for (int i = 1; i < 100; i++)
+                keyed.execute("a", ran::incrementAndGet);
+            queued.countDown();
+            while (keyed.size() > 0)
+                sleep(5);
+            Assertions.assertEquals(100, ran.get() + failures.size());
+            Assertions.assertTrue(failures.size() > 0);
+            failures.forEach(ex -> Assertions.assertTrue(ex instanceof RejectedExecutionException));
+        } finally {
+            MonadErrorHandler.uninstall();
+            pool.shutdownNow();
+        }
+    }
+
+    private static void awaitBoth(CountDownLatch started) {
+        started.countDown();
+        try {
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
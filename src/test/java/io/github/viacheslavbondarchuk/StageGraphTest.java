@@ -0,0 +1,154 @@
+package io.github.viacheslavbondarchuk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * author: viacheslavbondarchuk
+ * date: 10/16/26
+ * time: 11:55 PM
+ */
+public class StageGraphTest {
+
+    @AfterEach
+    public void uninstall() {
+        MonadErrorHandler.uninstall();
+    }
+
+    @Test
+    @Timeout(5)
+    public void testZipRunsBranchesInParallel() {
+        CountDownLatch both = new CountDownLatch(2);
+        String zipped = Monad.wrapAsync("value")
+                .zipAsync(value -> {
+                    countDownAndAwait(both);
+                    return value.length();
+                }, value -> {
+                    countDownAndAwait(both);
+                    return value.toUpperCase();
+                }, (length, upper) -> upper + length)
+                .unwrap();
+        Assertions.assertEquals("VALUE5", zipped);
+    }
+
+    @Test
+    @Timeout(5)
+    public void testDependentStageDoesNotWaitForWholeChain() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean siblingDone = new AtomicBoolean();
+        Monad<Integer, ?> monad = Monad.wrapAsync(2)
+                .applyAsyncAndWaitOther(value -> {
+                    await(release);
+                    siblingDone.set(true);
+                })
+                .graph(graph -> {
+                    StageGraph.Node<Integer> squared = graph.stage(value -> value * value);
+                    StageGraph.Node<Integer> plusOne = graph.stage(squared, value -> value + 1);
+                    return graph.stage(squared, plusOne, Integer::sum);
+                });
+        Assertions.assertFalse(siblingDone.get());
+        release.countDown();
+        Assertions.assertEquals(9, monad.unwrap());
+        Assertions.assertTrue(siblingDone.get());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testEmptyInputSkipsDependents() {
+        AtomicBoolean called = new AtomicBoolean();
+        AtomicReference<String> consumed = new AtomicReference<>("untouched");
+        Monad<Integer, ?> monad = Monad.wrapAsync("value")
+                .applyAsyncWaitOtherGraphAndConsume(graph -> graph.stage(graph.stage(value -> (String) null), value -> {
+                    called.set(true);
+                    return value;
+                }), consumed::set)
+                .zipAsync(value -> null, String::length, (nothing, length) -> length);
+        Assertions.assertNull(monad.unwrap());
+        Assertions.assertFalse(called.get());
+        Assertions.assertNull(consumed.get());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testZipAndConsume() {
+        AtomicReference<Integer> sum = new AtomicReference<>();
+        Monad.wrapAsync(20)
+                .applyAsyncWaitOtherZipAndConsume(value -> value + 1, value -> value, Integer::sum, sum::set)
+                .unwrap();
+        Assertions.assertEquals(41, sum.get());
+    }
+
+    @Test
+    @Timeout(5)
+    public void testFailuresOfBothInputsAreReported() throws InterruptedException {
+        List<String> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch reported = new CountDownLatch(2);
+        MonadErrorHandler.install(ex -> {
+            failures.add(ex.getMessage());
+            reported.countDown();
+        });
+        Monad<Integer, ?> monad = Monad.wrapAsync("value")
+                .graph(graph -> graph.stage(graph.stage(value -> {
+                    throw new IllegalStateException("first");
+                }), graph.stage(value -> {
+                    throw new IllegalStateException("second");
+                }), (first, second) -> 1));
+        Assertions.assertNull(monad.unwrap());
+        Assertions.assertTrue(reported.await(2, TimeUnit.SECONDS));
+        Assertions.assertTrue(failures.containsAll(List.of("first", "second")));
+    }
+
+    @Test
+    @Timeout(5)
+    public void testGraphRunsOnGivenExecutor() {
+        ExecutorService pool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "graph-pool"));
+        try {
+            String zipped = Monad.wrapAsync("value")
+                    .zipAsync(value -> Thread.currentThread().getName(), value -> Thread.currentThread().getName(),
+                            (first, second) -> first + " " + second, pool)
+                    .unwrap();
+            Assertions.assertEquals("graph-pool graph-pool", zipped);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @Timeout(5)
+    public void testFailureOfErrorHandlerReachesCaller() {
+        MonadErrorHandler.install(ex -> {
+            throw new IllegalArgumentException("handler", ex);
+        });
+        IllegalArgumentException thrown = Assertions.assertThrows(IllegalArgumentException.class, () -> Monad.wrapAsync("value")
+                .graph(graph -> graph.stage(value -> {
+                    throw new IllegalStateException("stage");
+                })));
+        Assertions.assertEquals("handler", thrown.getMessage());
+        Assertions.assertEquals("stage", thrown.getCause().getMessage());
+    }
+
+    private static void countDownAndAwait(CountDownLatch latch) {
+        latch.countDown();
+        await(latch);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}